@@ -0,0 +1,23 @@
+package com.jobapptracker.backend.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Due-date heat map: {@code days} only lists dates in [from, to] with at least one company due;
+ * {@code overdue} counts companies due before {@code today} (the database's CURRENT_DATE).
+ */
+public record DueHistogramResponse(
+        LocalDate today,
+        LocalDate from,
+        LocalDate to,
+        LocalDate maxNextVisitOn,
+        long overdue,
+        long dueToday,
+        List<DayCount> days
+) {
+    public record DayCount(
+            LocalDate date,
+            long count
+    ) {}
+}
@@ -1,13 +1,25 @@
 package com.jobapptracker.backend.api;
 
+import com.jobapptracker.backend.checklist.ChecklistConstants;
+import com.jobapptracker.backend.config.ConditionalGetResponses;
 import com.jobapptracker.backend.config.DatabaseConstants;
+import com.jobapptracker.backend.config.DateUtils;
+import com.jobapptracker.backend.version.repository.DataVersion;
+import com.jobapptracker.backend.version.repository.DataVersionRepository;
+import com.jobapptracker.backend.version.repository.Versioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.sql.Date;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -16,21 +28,109 @@ public class MetaController {
 
     private static final Logger log = LoggerFactory.getLogger(MetaController.class);
 
+    private static final int MAX_HISTOGRAM_DAYS = ChecklistConstants.MAX_RANGE_DAYS;
+
     private final JdbcTemplate jdbcTemplate;
+    private final DataVersionRepository dataVersionRepository;
+    private final ConditionalGetResponses conditionalGetResponses;
 
-    public MetaController(JdbcTemplate jdbc) {
+    public MetaController(
+            JdbcTemplate jdbc,
+            DataVersionRepository dataVersionRepository,
+            ConditionalGetResponses conditionalGetResponses
+    ) {
         this.jdbcTemplate = jdbc;
+        this.dataVersionRepository = dataVersionRepository;
+        this.conditionalGetResponses = conditionalGetResponses;
     }
 
     @GetMapping("/api/meta/max-next-visit-on")
-    public Map<String, Object> getMaxNextVisitOn() {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getMaxNextVisitOn() {
         log.info("GET /api/meta/max-next-visit-on - fetching max next visit date");
 
+        // Read first in this transaction, so the ETag is never newer than the body
+        DataVersion dataVersion = dataVersionRepository.current();
+
+        // Backward scan of the rollup's primary key instead of a MAX over every company
         LocalDate latestDate = jdbcTemplate.query(
-                "SELECT MAX(next_visit_on) as max_next_visit_on FROM " + DatabaseConstants.TABLE_COMPANY_TRACKING,
+                "SELECT MAX(day) as max_next_visit_on FROM " + DatabaseConstants.TABLE_COMPANY_DUE_COUNTS
+                        + " WHERE company_count > 0",
                 resultSet -> resultSet.next() ? resultSet.getObject("max_next_visit_on", LocalDate.class) : null
         );
 
-        return Map.of("maxNextVisitOn", Optional.ofNullable(latestDate));
+        return conditionalGetResponses.ok(new Versioned<>(Map.of("maxNextVisitOn", Optional.ofNullable(latestDate)), dataVersion));
+    }
+
+    @GetMapping("/api/meta/due-histogram")
+    @Transactional(readOnly = true)
+    public ResponseEntity<DueHistogramResponse> getDueHistogram(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        log.info("GET /api/meta/due-histogram - from={}, to={}", from, to);
+
+        DataVersion dataVersion = dataVersionRepository.current();
+
+        // All O(days): every figure comes from the per-day rollup, never from company rows
+        String summarySql = """
+                SELECT
+                    CURRENT_DATE AS today,
+                    (SELECT MAX(day) FROM %1$s WHERE company_count > 0) AS max_next_visit_on,
+                    (SELECT COALESCE(SUM(company_count), 0) FROM %1$s WHERE day < CURRENT_DATE) AS overdue,
+                    (SELECT COALESCE(SUM(company_count), 0) FROM %1$s WHERE day = CURRENT_DATE) AS due_today
+                """.formatted(DatabaseConstants.TABLE_COMPANY_DUE_COUNTS);
+
+        DueHistogramResponse summary = jdbcTemplate.queryForObject(summarySql, (rs, rowNum) -> new DueHistogramResponse(
+                rs.getObject("today", LocalDate.class),
+                null,
+                null,
+                rs.getObject("max_next_visit_on", LocalDate.class),
+                rs.getLong("overdue"),
+                rs.getLong("due_today"),
+                List.of()
+        ));
+
+        // Defaults: today through the last due date, capped at the maximum range
+        LocalDate fromDate = (from == null || from.isBlank()) ? summary.today() : DateUtils.parseDate(from);
+        LocalDate toDate;
+        if (to != null && !to.isBlank()) {
+            toDate = DateUtils.parseDate(to);
+        } else {
+            LocalDate latest = (summary.maxNextVisitOn() != null && summary.maxNextVisitOn().isAfter(fromDate))
+                    ? summary.maxNextVisitOn()
+                    : fromDate;
+            LocalDate cap = fromDate.plusDays(MAX_HISTOGRAM_DAYS - 1);
+            toDate = latest.isAfter(cap) ? cap : latest;
+        }
+
+        if (toDate.isBefore(fromDate)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        long days = ChronoUnit.DAYS.between(fromDate, toDate) + 1;
+        if (days > MAX_HISTOGRAM_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_HISTOGRAM_DAYS + " days, but got: " + days);
+        }
+
+        List<DueHistogramResponse.DayCount> dayCounts = jdbcTemplate.query(
+                "SELECT day, company_count FROM " + DatabaseConstants.TABLE_COMPANY_DUE_COUNTS
+                        + " WHERE day BETWEEN ? AND ? AND company_count > 0 ORDER BY day",
+                (rs, rowNum) -> new DueHistogramResponse.DayCount(
+                        rs.getObject("day", LocalDate.class),
+                        rs.getLong("company_count")
+                ),
+                Date.valueOf(fromDate),
+                Date.valueOf(toDate)
+        );
+
+        return conditionalGetResponses.ok(new Versioned<>(new DueHistogramResponse(
+                summary.today(),
+                fromDate,
+                toDate,
+                summary.maxNextVisitOn(),
+                summary.overdue(),
+                summary.dueToday(),
+                dayCounts
+        ), dataVersion));
     }
 }
@@ -0,0 +1,12 @@
+package com.jobapptracker.backend.checklist;
+
+public final class ChecklistConstants {
+
+    private ChecklistConstants() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static final int MAX_RANGE_DAYS = 366;
+
+    public static final int MAX_BULK_UPDATE_SIZE = 1000;
+}
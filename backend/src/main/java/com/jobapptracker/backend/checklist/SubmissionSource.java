@@ -0,0 +1,16 @@
+package com.jobapptracker.backend.checklist;
+
+import java.util.Locale;
+
+/**
+ * Which path submitted a checklist day; recorded in the submission ledger.
+ */
+public enum SubmissionSource {
+    MANUAL,
+    SCHEDULED,
+    CATCHUP;
+
+    public String dbValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record ChecklistBulkUpdateItem(
+        @NotNull(message = "companyId is required")
+        UUID companyId,
+
+        @NotNull(message = "completed is required")
+        Boolean completed
+) {}
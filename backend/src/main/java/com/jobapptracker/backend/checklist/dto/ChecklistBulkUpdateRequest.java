@@ -0,0 +1,15 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import com.jobapptracker.backend.checklist.ChecklistConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ChecklistBulkUpdateRequest(
+        @NotEmpty(message = "updates list cannot be empty")
+        @Size(max = ChecklistConstants.MAX_BULK_UPDATE_SIZE, message = "updates list must not exceed " + ChecklistConstants.MAX_BULK_UPDATE_SIZE + " entries")
+        @Valid
+        List<ChecklistBulkUpdateItem> updates
+) {}
@@ -0,0 +1,10 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ChecklistBulkUpdateResponse(
+        int updated,
+        int requested,
+        List<UUID> unknownCompanyIds
+) {}
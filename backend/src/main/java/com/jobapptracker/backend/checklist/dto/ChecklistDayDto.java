@@ -0,0 +1,9 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ChecklistDayDto(
+        LocalDate date,
+        List<ChecklistDayEntryDto> entries
+) {}
@@ -0,0 +1,9 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import java.util.UUID;
+
+public record ChecklistDayEntryDto(
+        UUID companyId,
+        boolean completed,
+        boolean inChecklist
+) {}
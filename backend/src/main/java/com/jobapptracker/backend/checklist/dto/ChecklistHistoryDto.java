@@ -0,0 +1,13 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ChecklistHistoryDto(
+        LocalDate checkDate,
+        UUID companyId,
+        String companyName,
+        boolean completed,
+        OffsetDateTime completedAt
+) {}
@@ -0,0 +1,18 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import com.jobapptracker.backend.company.dto.CompanyDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Calendar range: every company referenced by any day appears once in {@code companies};
+ * {@code days} has one bucket per date in [from, to], empty days included, whose entries point
+ * back to those companies by id.
+ */
+public record ChecklistRangeResponse(
+        LocalDate from,
+        LocalDate to,
+        List<CompanyDto> companies,
+        List<ChecklistDayDto> days
+) {}
@@ -0,0 +1,10 @@
+package com.jobapptracker.backend.checklist.dto;
+
+import java.time.LocalDate;
+
+public record ChecklistSubmitSummary(
+        LocalDate date,
+        int completed,
+        int companiesUpdated,
+        int chunks
+) {}
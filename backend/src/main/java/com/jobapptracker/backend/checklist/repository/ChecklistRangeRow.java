@@ -0,0 +1,11 @@
+package com.jobapptracker.backend.checklist.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ChecklistRangeRow(
+        LocalDate checkDate,
+        UUID companyId,
+        boolean completed,
+        boolean inChecklist
+) {}
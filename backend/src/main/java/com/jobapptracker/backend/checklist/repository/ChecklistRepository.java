@@ -1,19 +1,26 @@
 package com.jobapptracker.backend.checklist.repository;
 
+import com.jobapptracker.backend.checklist.SubmissionSource;
 import com.jobapptracker.backend.checklist.dto.ChecklistCompanyDto;
+import com.jobapptracker.backend.checklist.dto.ChecklistHistoryDto;
 import com.jobapptracker.backend.company.dto.CompanyDto;
 import com.jobapptracker.backend.company.repository.CompanyRowMapper;
 import com.jobapptracker.backend.config.DatabaseConstants;
 import com.jobapptracker.backend.config.SqlFragments;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
 public class ChecklistRepository {
@@ -23,9 +30,14 @@ public class ChecklistRepository {
     private final JdbcTemplate jdbcTemplate;
     private final ChecklistRowMapper checklistRowMapper = new ChecklistRowMapper();
     private final CompanyRowMapper companyRowMapper = new CompanyRowMapper();
+    private final int exportFetchSize;
 
-    public ChecklistRepository(JdbcTemplate template) {
+    public ChecklistRepository(
+            JdbcTemplate template,
+            @Value("${export.fetch-size}") int exportFetchSize
+    ) {
         this.jdbcTemplate = template;
+        this.exportFetchSize = exportFetchSize;
     }
 
     public List<ChecklistCompanyDto> getChecklist(LocalDate date) {
@@ -35,31 +47,21 @@ public class ChecklistRepository {
                 %s,
                     COALESCE(checklist.completed, FALSE) AS completed,
                     (checklist.company_id IS NOT NULL) AS in_checklist
-                FROM %s company
+                %s
                 LEFT JOIN %s checklist
                     ON checklist.company_id = company.company_id
                     AND checklist.check_date = ?
-                LEFT JOIN %s ct
-                    ON ct.company_id = company.company_id
-                LEFT JOIN %s t
-                    ON t.tag_id = ct.tag_id
                 WHERE (
                     company.next_visit_on IS NOT NULL
                     AND company.next_visit_on <= ?
                 ) OR (
                     checklist.company_id IS NOT NULL
                 )
-                %s,
-                    checklist.completed,
-                    checklist.company_id
                 %s
                 """.formatted(
                 SqlFragments.SELECT_COMPANY_WITH_TAGS,
-                DatabaseConstants.TABLE_COMPANY_TRACKING,
+                SqlFragments.FROM_COMPANY,
                 DatabaseConstants.TABLE_DAILY_CHECKLIST,
-                DatabaseConstants.TABLE_COMPANY_TAG,
-                DatabaseConstants.TABLE_TAG,
-                SqlFragments.GROUP_BY_COMPANY,
                 SqlFragments.ORDER_BY_COMPANY_NAME
         );
 
@@ -67,6 +69,116 @@ public class ChecklistRepository {
         return jdbcTemplate.query(sqlQuery, checklistRowMapper, d, d);
     }
 
+    /**
+     * One row per (day, company) in [from, to]: companies due that day plus companies with a checklist row
+     * on it, ordered like the single-day checklist within each day. Days without rows are absent.
+     */
+    public List<ChecklistRangeRow> getRangeEntries(LocalDate from, LocalDate to) {
+        String sqlQuery = """
+                WITH days AS (
+                    SELECT day::date AS check_date
+                    FROM generate_series(?::date, ?::date, INTERVAL '1 day') AS day
+                ),
+                entries AS (
+                    SELECT days.check_date, company.company_id
+                    FROM days
+                    JOIN %1$s company ON company.next_visit_on = days.check_date
+                    UNION
+                    SELECT checklist.check_date, checklist.company_id
+                    FROM %2$s checklist
+                    WHERE checklist.check_date BETWEEN ? AND ?
+                )
+                SELECT
+                    entries.check_date,
+                    entries.company_id,
+                    COALESCE(checklist.completed, FALSE) AS completed,
+                    (checklist.company_id IS NOT NULL) AS in_checklist
+                FROM entries
+                JOIN %1$s company ON company.company_id = entries.company_id
+                LEFT JOIN %2$s checklist
+                    ON checklist.check_date = entries.check_date
+                    AND checklist.company_id = entries.company_id
+                ORDER BY entries.check_date ASC, company.company_name ASC, company.company_id ASC
+                """.formatted(
+                DatabaseConstants.TABLE_COMPANY_TRACKING,
+                DatabaseConstants.TABLE_DAILY_CHECKLIST
+        );
+
+        Date fromDate = Date.valueOf(from);
+        Date toDate = Date.valueOf(to);
+        return jdbcTemplate.query(sqlQuery, (resultSet, rowNum) -> new ChecklistRangeRow(
+                resultSet.getObject("check_date", LocalDate.class),
+                resultSet.getObject("company_id", UUID.class),
+                resultSet.getBoolean("completed"),
+                resultSet.getBoolean("in_checklist")
+        ), fromDate, toDate, fromDate, toDate);
+    }
+
+    /**
+     * Every company that {@link #getRangeEntries} can reference, each once with its tags.
+     */
+    public List<CompanyDto> getRangeCompanies(LocalDate from, LocalDate to) {
+        String sqlQuery = """
+                WITH range_companies AS (
+                    SELECT company_id
+                    FROM %s
+                    WHERE next_visit_on BETWEEN ? AND ?
+                    UNION
+                    SELECT company_id
+                    FROM %s
+                    WHERE check_date BETWEEN ? AND ?
+                )
+                SELECT
+                %s
+                %s
+                JOIN range_companies ON range_companies.company_id = company.company_id
+                %s
+                """.formatted(
+                DatabaseConstants.TABLE_COMPANY_TRACKING,
+                DatabaseConstants.TABLE_DAILY_CHECKLIST,
+                SqlFragments.SELECT_COMPANY_WITH_TAGS,
+                SqlFragments.FROM_COMPANY,
+                SqlFragments.ORDER_BY_COMPANY_NAME_ID
+        );
+
+        Date fromDate = Date.valueOf(from);
+        Date toDate = Date.valueOf(to);
+        return jdbcTemplate.query(sqlQuery, companyRowMapper, fromDate, toDate, fromDate, toDate);
+    }
+
+    public void streamHistory(LocalDate from, LocalDate to, Consumer<ChecklistHistoryDto> consumer) {
+        String sqlQuery = """
+                SELECT
+                    checklist.check_date,
+                    checklist.company_id,
+                    company.company_name,
+                    checklist.completed,
+                    checklist.completed_at
+                FROM %s checklist
+                JOIN %s company ON company.company_id = checklist.company_id
+                WHERE checklist.check_date BETWEEN ? AND ?
+                ORDER BY checklist.check_date ASC, company.company_name ASC
+                """.formatted(
+                DatabaseConstants.TABLE_DAILY_CHECKLIST,
+                DatabaseConstants.TABLE_COMPANY_TRACKING
+        );
+
+        // pgjdbc only uses a server-side cursor with a fetch size inside a transaction (autocommit off)
+        jdbcTemplate.query(con -> {
+            PreparedStatement preparedStatement = con.prepareStatement(sqlQuery);
+            preparedStatement.setFetchSize(exportFetchSize);
+            preparedStatement.setDate(1, Date.valueOf(from));
+            preparedStatement.setDate(2, Date.valueOf(to));
+            return preparedStatement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(new ChecklistHistoryDto(
+                resultSet.getObject("check_date", LocalDate.class),
+                resultSet.getObject("company_id", UUID.class),
+                resultSet.getString("company_name"),
+                resultSet.getBoolean("completed"),
+                resultSet.getObject("completed_at", OffsetDateTime.class)
+        )));
+    }
+
     public boolean upsertCompletion(LocalDate date, UUID companyId, boolean completed) {
         log.debug("Upserting completion in database: date={}, companyId={}, completed={}",
                 date, companyId, completed);
@@ -100,85 +212,151 @@ public class ChecklistRepository {
         }
     }
 
-    public List<CompanyDto> submitDay(LocalDate date) {
-        log.debug("Submitting day in database: date={}", date);
+    /**
+     * Upserts many completions for one day in a single statement; rows for companies that do not
+     * exist are skipped. {@code companyIds} must be distinct (ON CONFLICT cannot touch a row twice).
+     *
+     * @return the requested company ids that do not exist
+     */
+    public List<UUID> upsertCompletions(LocalDate date, List<UUID> companyIds, List<Boolean> completed) {
+        log.debug("Upserting {} completions in database: date={}", companyIds.size(), date);
+
+        String sqlQuery = """
+                WITH input AS (
+                    SELECT input.company_id, input.completed
+                    FROM unnest(?::uuid[], ?::bool[]) AS input(company_id, completed)
+                ),
+                upserted AS (
+                    INSERT INTO %s (check_date, company_id, completed, completed_at, updated_at)
+                    SELECT ?, input.company_id, input.completed, CASE WHEN input.completed THEN now() ELSE NULL END, now()
+                    FROM input
+                    JOIN %s company ON company.company_id = input.company_id
+                    ORDER BY input.company_id
+                    ON CONFLICT (check_date, company_id)
+                    DO UPDATE SET
+                        completed = EXCLUDED.completed,
+                        completed_at = EXCLUDED.completed_at,
+                        updated_at = now()
+                    RETURNING company_id
+                )
+                SELECT input.company_id
+                FROM input
+                WHERE input.company_id NOT IN (SELECT company_id FROM upserted)
+                """.formatted(
+                DatabaseConstants.TABLE_DAILY_CHECKLIST,
+                DatabaseConstants.TABLE_COMPANY_TRACKING
+        );
+
+        List<UUID> unknown = jdbcTemplate.query(con -> {
+            PreparedStatement preparedStatement = con.prepareStatement(sqlQuery);
+            preparedStatement.setArray(1, con.createArrayOf("uuid", companyIds.toArray(new UUID[0])));
+            preparedStatement.setArray(2, con.createArrayOf("bool", completed.toArray(new Boolean[0])));
+            preparedStatement.setDate(3, Date.valueOf(date));
+            return preparedStatement;
+        }, (resultSet, rowNum) -> resultSet.getObject("company_id", UUID.class));
+
+        log.debug("Completions upserted in database: date={}, upserted={}, unknown={}",
+                date, companyIds.size() - unknown.size(), unknown.size());
+        return unknown;
+    }
+
+    public int countCompleted(LocalDate date) {
+        String sqlQuery = """
+                SELECT COUNT(*)
+                FROM %s
+                WHERE check_date = ?
+                  AND completed = TRUE
+                """.formatted(DatabaseConstants.TABLE_DAILY_CHECKLIST);
+
+        Integer count = jdbcTemplate.queryForObject(sqlQuery, Integer.class, Date.valueOf(date));
+        return (count == null) ? 0 : count;
+    }
+
+    /**
+     * Applies one chunk of a day's completions: the first {@code limit} completed rows with
+     * company_id greater than {@code afterCompanyId}, in company_id order. Each company's
+     * last_visited_on only moves forward and applied rows are deleted, so replaying is a no-op.
+     */
+    public SubmitChunk submitDayChunk(LocalDate date, UUID afterCompanyId, int limit) {
+        log.debug("Submitting day chunk in database: date={}, afterCompanyId={}, limit={}", date, afterCompanyId, limit);
 
         String sqlQuery = """
                 WITH completed_companies AS (
                     SELECT checklist.company_id
-                    FROM %s checklist
+                    FROM %1$s checklist
                     WHERE checklist.check_date = ?
                       AND checklist.completed = TRUE
+                      AND checklist.company_id > ?
+                    ORDER BY checklist.company_id ASC
+                    LIMIT ?
                 ),
                 updated AS (
-                    UPDATE %s company
+                    UPDATE %2$s company
                     SET
                         last_visited_on = ?,
                         updated_at = now()
                     FROM completed_companies completed
                     WHERE company.company_id = completed.company_id
                       AND (company.last_visited_on IS NULL OR company.last_visited_on < ?)
-                    RETURNING
-                        company.company_id,
-                        company.company_name,
-                        company.careers_url,
-                        company.last_visited_on,
-                        company.revisit_after_days,
-                        company.next_visit_on,
-                        company.created_at,
-                        company.updated_at
+                    RETURNING company.company_id
                 ),
                 deleted AS (
-                    DELETE FROM %s checklist
+                    DELETE FROM %1$s checklist
                     USING completed_companies completed
                     WHERE checklist.company_id = completed.company_id
                       AND checklist.check_date = ?
                     RETURNING checklist.company_id
                 )
                 SELECT
-                    u.company_id,
-                    u.company_name,
-                    u.careers_url,
-                    u.last_visited_on,
-                    u.revisit_after_days,
-                    COALESCE(
-                        array_agg(t.tag_key ORDER BY t.tag_name)
-                            FILTER (WHERE t.tag_id IS NOT NULL),
-                        '{}'::text[]
-                    ) AS tag_keys,
-                    COALESCE(
-                        array_agg(t.tag_name ORDER BY t.tag_name)
-                            FILTER (WHERE t.tag_id IS NOT NULL),
-                        '{}'::text[]
-                    ) AS tag_names,
-                    u.next_visit_on,
-                    u.created_at,
-                    u.updated_at
-                FROM updated u
-                LEFT JOIN %s ct ON ct.company_id = u.company_id
-                LEFT JOIN %s t ON t.tag_id = ct.tag_id
-                GROUP BY
-                    u.company_id,
-                    u.company_name,
-                    u.careers_url,
-                    u.last_visited_on,
-                    u.revisit_after_days,
-                    u.next_visit_on,
-                    u.created_at,
-                    u.updated_at
-                ORDER BY u.company_name ASC
+                    (SELECT COUNT(*) FROM completed_companies) AS completed_rows,
+                    (SELECT COUNT(*) FROM updated) AS companies_updated,
+                    (SELECT company_id FROM completed_companies ORDER BY company_id DESC LIMIT 1) AS last_company_id
                 """.formatted(
                 DatabaseConstants.TABLE_DAILY_CHECKLIST,
-                DatabaseConstants.TABLE_COMPANY_TRACKING,
-                DatabaseConstants.TABLE_DAILY_CHECKLIST,
-                DatabaseConstants.TABLE_COMPANY_TAG,
-                DatabaseConstants.TABLE_TAG
+                DatabaseConstants.TABLE_COMPANY_TRACKING
         );
 
         Date d = Date.valueOf(date);
-        List<CompanyDto> updated = jdbcTemplate.query(sqlQuery, companyRowMapper, d, d, d, d);
-        log.debug("Day submitted successfully in database: date={}, updated {} companies", date, updated.size());
-        return updated;
+        SubmitChunk chunk = jdbcTemplate.queryForObject(sqlQuery, (resultSet, rowNum) -> new SubmitChunk(
+                resultSet.getInt("completed_rows"),
+                resultSet.getInt("companies_updated"),
+                resultSet.getObject("last_company_id", UUID.class)
+        ), d, afterCompanyId, limit, d, d, d);
+        log.debug("Day chunk submitted in database: date={}, chunk={}", date, chunk);
+        return chunk;
+    }
+
+    /**
+     * Days before {@code before} that still hold completed rows, oldest first. Submitting a day deletes
+     * the rows it applied, so these are exactly the days with unapplied completions.
+     */
+    public List<LocalDate> findPendingSubmissionDates(LocalDate before, int limit) {
+        String sqlQuery = """
+                SELECT DISTINCT check_date
+                FROM %s
+                WHERE completed = TRUE
+                  AND check_date < ?
+                ORDER BY check_date ASC
+                LIMIT ?
+                """.formatted(DatabaseConstants.TABLE_DAILY_CHECKLIST);
+
+        return jdbcTemplate.query(sqlQuery,
+                (resultSet, rowNum) -> resultSet.getObject("check_date", LocalDate.class),
+                Date.valueOf(before), limit);
+    }
+
+    public void recordSubmission(LocalDate date, SubmissionSource source, int companiesUpdated) {
+        String sqlQuery = """
+                INSERT INTO %s (check_date, submitted_at, source, companies_updated)
+                VALUES (?, now(), ?, ?)
+                ON CONFLICT (check_date)
+                DO UPDATE SET
+                    submitted_at = EXCLUDED.submitted_at,
+                    source = EXCLUDED.source,
+                    companies_updated = EXCLUDED.companies_updated
+                """.formatted(DatabaseConstants.TABLE_CHECKLIST_SUBMISSION);
+
+        jdbcTemplate.update(sqlQuery, Date.valueOf(date), source.dbValue(), companiesUpdated);
     }
 
     public boolean companyExists(UUID companyId) {
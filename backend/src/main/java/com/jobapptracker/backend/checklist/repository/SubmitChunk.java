@@ -0,0 +1,15 @@
+package com.jobapptracker.backend.checklist.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one {@link ChecklistRepository#submitDayChunk} call; {@code lastCompanyId} is the keyset
+ * position for the next chunk and null when the chunk found no completed rows.
+ */
+public record SubmitChunk(
+        int completedRows,
+        int companiesUpdated,
+        @Nullable UUID lastCompanyId
+) {}
@@ -1,7 +1,9 @@
 package com.jobapptracker.backend.checklist.scheduler;
 
+import com.jobapptracker.backend.checklist.SubmissionSource;
+import com.jobapptracker.backend.checklist.dto.ChecklistSubmitSummary;
 import com.jobapptracker.backend.checklist.service.ChecklistService;
-import com.jobapptracker.backend.company.dto.CompanyDto;
+import com.jobapptracker.backend.config.ClusterJobLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,21 +12,26 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.List;
+import java.util.Optional;
 
 @Component
 public class ChecklistAutoSubmitJob {
 
     private static final Logger log = LoggerFactory.getLogger(ChecklistAutoSubmitJob.class);
 
+    private static final String JOB_NAME = "checklist-auto-submit";
+
     private final ChecklistService checklistService;
+    private final ClusterJobLock clusterJobLock;
     private final ZoneId schedulerZone;
 
     public ChecklistAutoSubmitJob(
             ChecklistService service,
+            ClusterJobLock clusterJobLock,
             @Value("${scheduler.timezone}") String timezone
     ) {
         this.checklistService = service;
+        this.clusterJobLock = clusterJobLock;
         this.schedulerZone = ZoneId.of(timezone);
     }
 
@@ -33,8 +40,11 @@ public class ChecklistAutoSubmitJob {
         LocalDate today = LocalDate.now(schedulerZone);
         log.info("Starting checklist auto-submit job for date={} (zone={})", today, schedulerZone);
         try {
-            List<CompanyDto> updated = checklistService.submitDay(today);
-            log.info("Checklist auto-submit completed successfully: updated {} companies", updated.size());
+            // Every node fires at 23:59; the one holding the lock does the update/delete pass
+            Optional<ChecklistSubmitSummary> summary = clusterJobLock.runExclusively(JOB_NAME,
+                    () -> checklistService.submitDay(today, SubmissionSource.SCHEDULED));
+            summary.ifPresent(submitted ->
+                    log.info("Checklist auto-submit completed successfully: updated {} companies", submitted.companiesUpdated()));
         } catch (Exception exception) {
             log.error("Checklist auto-submit failed for date={}", today, exception);
         }
@@ -0,0 +1,95 @@
+package com.jobapptracker.backend.checklist.scheduler;
+
+import com.jobapptracker.backend.checklist.SubmissionSource;
+import com.jobapptracker.backend.checklist.service.ChecklistService;
+import com.jobapptracker.backend.config.ClusterJobLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Replays every past day that still has unapplied completions (downtime, a failed 23:59 run,
+ * completions ticked after submission), oldest first so last_visited_on only moves forward.
+ * Pending days are fetched chunk-size at a time and submitted one after another (each in short chunks);
+ * a failing day stops the pass so later days are not applied ahead of it, and the next pass retries.
+ * Runs at startup (ChecklistCatchupOnStartup) and every scheduler.catchup.interval-ms, on one node
+ * at a time; nodes that find the cluster lock taken skip the pass.
+ */
+@Component
+public class ChecklistCatchupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ChecklistCatchupJob.class);
+
+    private static final String JOB_NAME = "checklist-catchup";
+
+    private final ChecklistService checklistService;
+    private final ClusterJobLock clusterJobLock;
+    private final ZoneId schedulerZone;
+    private final int chunkSize;
+
+    public ChecklistCatchupJob(
+            ChecklistService service,
+            ClusterJobLock clusterJobLock,
+            @Value("${scheduler.timezone}") String timezone,
+            @Value("${scheduler.catchup.chunk-size:31}") int chunkSize
+    ) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("scheduler.catchup.chunk-size must be at least 1, but got: " + chunkSize);
+        }
+        this.checklistService = service;
+        this.clusterJobLock = clusterJobLock;
+        this.schedulerZone = ZoneId.of(timezone);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${scheduler.catchup.interval-ms:3600000}",
+            initialDelayString = "${scheduler.catchup.interval-ms:3600000}"
+    )
+    public void scheduledCatchup() {
+        try {
+            catchUp();
+        } catch (Exception exception) {
+            log.error("Checklist catchup failed", exception);
+        }
+    }
+
+    /**
+     * Submits all pending days before today (in the scheduler zone); today is left to the 23:59 job.
+     *
+     * @return number of days submitted, or empty if another node is already catching up
+     */
+    public Optional<Integer> catchUp() {
+        return clusterJobLock.runExclusively(JOB_NAME, this::submitPendingDays);
+    }
+
+    private int submitPendingDays() {
+        LocalDate today = LocalDate.now(schedulerZone);
+        int daysSubmitted = 0;
+        int companiesUpdated = 0;
+
+        List<LocalDate> pending;
+        do {
+            pending = checklistService.findPendingSubmissionDates(today, chunkSize);
+            for (LocalDate date : pending) {
+                companiesUpdated += checklistService.submitDay(date, SubmissionSource.CATCHUP).companiesUpdated();
+                daysSubmitted++;
+            }
+        } while (pending.size() == chunkSize);
+
+        if (daysSubmitted > 0) {
+            log.info("Checklist catchup completed: submitted {} days before {}, updated {} companies (zone={})",
+                    daysSubmitted, today, companiesUpdated, schedulerZone);
+        } else {
+            log.debug("Checklist catchup found no pending days before {} (zone={})", today, schedulerZone);
+        }
+        return daysSubmitted;
+    }
+}
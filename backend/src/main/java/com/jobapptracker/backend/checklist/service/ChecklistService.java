@@ -1,17 +1,46 @@
 package com.jobapptracker.backend.checklist.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobapptracker.backend.checklist.ChecklistConstants;
+import com.jobapptracker.backend.checklist.SubmissionSource;
+import com.jobapptracker.backend.checklist.dto.ChecklistBulkUpdateItem;
+import com.jobapptracker.backend.checklist.dto.ChecklistBulkUpdateRequest;
+import com.jobapptracker.backend.checklist.dto.ChecklistBulkUpdateResponse;
 import com.jobapptracker.backend.checklist.dto.ChecklistCompanyDto;
+import com.jobapptracker.backend.checklist.dto.ChecklistDayDto;
+import com.jobapptracker.backend.checklist.dto.ChecklistDayEntryDto;
+import com.jobapptracker.backend.checklist.dto.ChecklistHistoryDto;
+import com.jobapptracker.backend.checklist.dto.ChecklistRangeResponse;
+import com.jobapptracker.backend.checklist.dto.ChecklistSubmitSummary;
 import com.jobapptracker.backend.checklist.dto.ChecklistUpdateRequest;
+import com.jobapptracker.backend.checklist.repository.ChecklistRangeRow;
 import com.jobapptracker.backend.checklist.repository.ChecklistRepository;
+import com.jobapptracker.backend.checklist.repository.SubmitChunk;
 import com.jobapptracker.backend.company.dto.CompanyDto;
 import com.jobapptracker.backend.company.service.CompanyNotFoundException;
+import com.jobapptracker.backend.config.ExportFormat;
+import com.jobapptracker.backend.config.ExportWriter;
+import com.jobapptracker.backend.version.repository.DataVersion;
+import com.jobapptracker.backend.version.repository.DataVersionRepository;
+import com.jobapptracker.backend.version.repository.Versioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -19,18 +48,106 @@ public class ChecklistService {
 
     private static final Logger log = LoggerFactory.getLogger(ChecklistService.class);
 
+    private static final List<String> EXPORT_CSV_HEADER = List.of(
+            "checkDate",
+            "companyId",
+            "companyName",
+            "completed",
+            "completedAt"
+    );
+
+    // The nil UUID sorts before every company_id, so the first chunk starts at the beginning
+    private static final UUID FIRST_COMPANY_ID = new UUID(0L, 0L);
+
     private final ChecklistRepository checklistRepository;
+    private final DataVersionRepository dataVersionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final int submitChunkSize;
 
-    public ChecklistService(ChecklistRepository repository) {
+    public ChecklistService(
+            ChecklistRepository repository,
+            DataVersionRepository dataVersionRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${checklist.submit.chunk-size:500}") int submitChunkSize
+    ) {
+        if (submitChunkSize < 1) {
+            throw new IllegalArgumentException("checklist.submit.chunk-size must be at least 1, but got: " + submitChunkSize);
+        }
         this.checklistRepository = repository;
+        this.dataVersionRepository = dataVersionRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.submitChunkSize = submitChunkSize;
     }
 
-    public List<ChecklistCompanyDto> getChecklist(LocalDate date) {
+    // The version is read first, so the body is never older than the ETag built from it
+    @Transactional(readOnly = true)
+    public Versioned<List<ChecklistCompanyDto>> getChecklist(LocalDate date) {
         if (date == null) {
             date = LocalDate.now();
         }
 
-        return checklistRepository.getChecklist(date);
+        DataVersion dataVersion = dataVersionRepository.current();
+        return new Versioned<>(checklistRepository.getChecklist(date), dataVersion);
+    }
+
+    // All three statements share one snapshot: every entry's company is in the company list, and the
+    // version is exactly the one the body was read at
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<ChecklistRangeResponse> getChecklistRange(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (days > ChecklistConstants.MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + ChecklistConstants.MAX_RANGE_DAYS + " days, but got: " + days);
+        }
+
+        DataVersion dataVersion = dataVersionRepository.current();
+        List<ChecklistRangeRow> rows = checklistRepository.getRangeEntries(from, to);
+        List<CompanyDto> companies = checklistRepository.getRangeCompanies(from, to);
+
+        Map<LocalDate, List<ChecklistDayEntryDto>> entriesByDay = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            entriesByDay.put(day, new ArrayList<>());
+        }
+        for (ChecklistRangeRow row : rows) {
+            entriesByDay.get(row.checkDate())
+                    .add(new ChecklistDayEntryDto(row.companyId(), row.completed(), row.inChecklist()));
+        }
+
+        List<ChecklistDayDto> dayBuckets = entriesByDay.entrySet().stream()
+                .map(entry -> new ChecklistDayDto(entry.getKey(), entry.getValue()))
+                .toList();
+
+        log.debug("Checklist range loaded: from={}, to={}, entries={}, companies={}", from, to, rows.size(), companies.size());
+        return new Versioned<>(new ChecklistRangeResponse(from, to, companies, dayBuckets), dataVersion);
+    }
+
+    // Deliberately not readOnly, so the export runs on the primary. A cursor held open for minutes on the
+    // replica is cancelled by recovery conflicts once it outlives max_standby_streaming_delay
+    @Transactional
+    public long exportHistory(LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting checklist history: from={}, to={}, format={}", from, to, format);
+
+        try (ExportWriter<ChecklistHistoryDto> writer = new ExportWriter<>(
+                out, format, objectMapper, EXPORT_CSV_HEADER, ChecklistService::toCsvValues)) {
+            checklistRepository.streamHistory(from, to, writer::write);
+            log.info("Checklist history export completed: {} rows", writer.rowsWritten());
+            return writer.rowsWritten();
+        }
+    }
+
+    private static List<Object> toCsvValues(ChecklistHistoryDto row) {
+        return Arrays.asList(
+                row.checkDate(),
+                row.companyId(),
+                row.companyName(),
+                row.completed(),
+                row.completedAt()
+        );
     }
 
     @Transactional
@@ -47,11 +164,71 @@ public class ChecklistService {
     }
 
     @Transactional
-    public List<CompanyDto> submitDay(LocalDate date) {
-        log.info("Submitting checklist for date={}", date);
-        List<CompanyDto> updated = checklistRepository.submitDay(date);
-        log.info("Checklist submitted successfully: date={}, updated {} companies", date, updated.size());
-        return updated;
+    public ChecklistBulkUpdateResponse setCompletedBulk(LocalDate date, ChecklistBulkUpdateRequest request) {
+        // Last entry wins for repeated ids; one statement cannot upsert the same row twice
+        Map<UUID, Boolean> completedById = new LinkedHashMap<>();
+        for (ChecklistBulkUpdateItem item : request.updates()) {
+            completedById.put(item.companyId(), item.completed());
+        }
+        log.info("Setting completion status in bulk: date={}, requested={}, distinct={}",
+                date, request.updates().size(), completedById.size());
+
+        List<UUID> unknown = checklistRepository.upsertCompletions(
+                date, List.copyOf(completedById.keySet()), List.copyOf(completedById.values()));
+
+        int updated = completedById.size() - unknown.size();
+        if (!unknown.isEmpty()) {
+            log.warn("Bulk completion skipped unknown companies: date={}, unknown={}", date, unknown);
+        }
+        log.info("Bulk completion status updated: date={}, updated {} companies", date, updated);
+        return new ChecklistBulkUpdateResponse(updated, completedById.size(), unknown);
+    }
+
+    /**
+     * Applies a day's completions chunk-size companies at a time, each chunk in its own short
+     * transaction, so company row locks are never held for the whole day. If a chunk fails, the
+     * day's remaining completed rows stay in place and a retry (or catch-up) finishes them; the
+     * ledger entry is only written once every chunk has been applied.
+     */
+    public ChecklistSubmitSummary submitDay(LocalDate date, SubmissionSource source) {
+        int total = checklistRepository.countCompleted(date);
+        log.info("Submitting checklist for date={}, source={}: {} completed rows, chunkSize={}",
+                date, source, total, submitChunkSize);
+
+        UUID after = FIRST_COMPANY_ID;
+        int completed = 0;
+        int companiesUpdated = 0;
+        int chunks = 0;
+        while (true) {
+            UUID position = after;
+            SubmitChunk chunk = transaction.execute(status -> checklistRepository.submitDayChunk(date, position, submitChunkSize));
+            if (chunk == null || chunk.completedRows() == 0) {
+                break;
+            }
+
+            chunks++;
+            completed += chunk.completedRows();
+            companiesUpdated += chunk.companiesUpdated();
+            after = chunk.lastCompanyId();
+            log.info("Checklist submit progress: date={}, chunk={}, processed {}/{} completed rows",
+                    date, chunks, completed, total);
+
+            if (chunk.completedRows() < submitChunkSize) {
+                break;
+            }
+        }
+
+        int updated = companiesUpdated;
+        transaction.executeWithoutResult(status -> checklistRepository.recordSubmission(date, source, updated));
+
+        log.info("Checklist submitted successfully: date={}, updated {} companies in {} chunks", date, companiesUpdated, chunks);
+        return new ChecklistSubmitSummary(date, completed, companiesUpdated, chunks);
+    }
+
+    // Not read-only: a lagging replica would keep returning days the primary has already submitted
+    @Transactional
+    public List<LocalDate> findPendingSubmissionDates(LocalDate before, int limit) {
+        return checklistRepository.findPendingSubmissionDates(before, limit);
     }
 
     @Transactional
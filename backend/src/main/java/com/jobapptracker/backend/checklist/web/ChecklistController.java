@@ -1,15 +1,24 @@
 package com.jobapptracker.backend.checklist.web;
 
+import com.jobapptracker.backend.checklist.SubmissionSource;
+import com.jobapptracker.backend.checklist.dto.ChecklistBulkUpdateRequest;
+import com.jobapptracker.backend.checklist.dto.ChecklistBulkUpdateResponse;
 import com.jobapptracker.backend.checklist.dto.ChecklistCompanyDto;
+import com.jobapptracker.backend.checklist.dto.ChecklistRangeResponse;
+import com.jobapptracker.backend.checklist.dto.ChecklistSubmitSummary;
 import com.jobapptracker.backend.checklist.dto.ChecklistUpdateRequest;
 import com.jobapptracker.backend.checklist.service.ChecklistService;
-import com.jobapptracker.backend.company.dto.CompanyDto;
+import com.jobapptracker.backend.config.ConditionalGetResponses;
 import com.jobapptracker.backend.config.DateUtils;
+import com.jobapptracker.backend.config.ExportFormat;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,9 +31,11 @@ public class ChecklistController {
     private static final Logger log = LoggerFactory.getLogger(ChecklistController.class);
 
     private final ChecklistService checklistService;
+    private final ConditionalGetResponses conditionalGetResponses;
 
-    public ChecklistController(ChecklistService service) {
+    public ChecklistController(ChecklistService service, ConditionalGetResponses conditionalGetResponses) {
         this.checklistService = service;
+        this.conditionalGetResponses = conditionalGetResponses;
     }
 
     @GetMapping
@@ -32,7 +43,47 @@ public class ChecklistController {
         log.info("GET /api/checklist - date={}", date);
         LocalDate parsedDate = DateUtils.parseDateOrNull(date);
         LocalDate effectiveDate = (parsedDate != null) ? parsedDate : LocalDate.now();
-        return ResponseEntity.ok(checklistService.getChecklist(effectiveDate));
+        return conditionalGetResponses.ok(checklistService.getChecklist(effectiveDate));
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<ChecklistRangeResponse> getChecklistRange(
+            @RequestParam String from,
+            @RequestParam String to
+    ) {
+        log.info("GET /api/checklist/range - from={}, to={}", from, to);
+        return conditionalGetResponses.ok(checklistService.getChecklistRange(DateUtils.parseDate(from), DateUtils.parseDate(to)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam(required = false) String format,
+            @RequestParam String from,
+            @RequestParam String to
+    ) {
+        log.info("GET /api/checklist/export - from={}, to={}, format={}", from, to, format);
+        ExportFormat exportFormat = ExportFormat.fromStringOrDefault(format);
+        LocalDate fromDate = DateUtils.parseDate(from);
+        LocalDate toDate = DateUtils.parseDate(to);
+        if (toDate.isBefore(fromDate)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+
+        StreamingResponseBody body = out -> checklistService.exportHistory(fromDate, toDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"checklist-history." + exportFormat.fileExtension() + "\"")
+                .body(body);
+    }
+
+    @PutMapping("/{date}/companies")
+    public ResponseEntity<ChecklistBulkUpdateResponse> setCompletedBulk(
+            @PathVariable String date,
+            @Valid @RequestBody ChecklistBulkUpdateRequest request
+    ) {
+        log.info("PUT /api/checklist/{}/companies - updating {} companies", date, request.updates().size());
+        return ResponseEntity.ok(checklistService.setCompletedBulk(DateUtils.parseDate(date), request));
     }
 
     @PutMapping("/{date}/companies/{companyId}")
@@ -48,13 +99,12 @@ public class ChecklistController {
     }
 
     @PostMapping("/{date}/submit")
-    public ResponseEntity<List<CompanyDto>> submitDay(
+    public ResponseEntity<ChecklistSubmitSummary> submitDay(
             @PathVariable String date
     ) {
         log.info("POST /api/checklist/{}/submit - submitting checklist for date", date);
         LocalDate parsedDate = DateUtils.parseDate(date);
-        var updatedCompanies = checklistService.submitDay(parsedDate);
-        return ResponseEntity.ok(updatedCompanies);
+        return ResponseEntity.ok(checklistService.submitDay(parsedDate, SubmissionSource.MANUAL));
     }
 
     @DeleteMapping("/{date}/companies/{companyId}")
@@ -9,4 +9,12 @@ public final class CompanyConstants {
     public static final int DEFAULT_REVISIT_AFTER_DAYS = 7;
 
     public static final int MIN_REVISIT_AFTER_DAYS = 1;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public static final int MAX_COMPANY_NAME_LENGTH = 255;
+
+    public static final int MAX_CAREERS_URL_LENGTH = 2048;
+
+    public static final int MAX_REPORTED_IMPORT_REJECTS = 1000;
 }
\ No newline at end of file
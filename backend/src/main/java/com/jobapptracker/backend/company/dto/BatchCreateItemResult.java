@@ -0,0 +1,20 @@
+package com.jobapptracker.backend.company.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchCreateItemResult(
+        int index,
+        Status status,
+        UUID companyId,
+        String careersUrl,
+        String message
+) {
+    public enum Status {
+        CREATED,
+        UPDATED,
+        SKIPPED
+    }
+}
@@ -0,0 +1,15 @@
+package com.jobapptracker.backend.company.dto;
+
+import com.jobapptracker.backend.company.CompanyConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCreateRequest(
+        @NotEmpty(message = "companies list cannot be empty")
+        @Size(max = CompanyConstants.MAX_BATCH_SIZE, message = "companies list must not exceed " + CompanyConstants.MAX_BATCH_SIZE + " entries")
+        @Valid
+        List<CompanyCreateRequest> companies
+) {}
@@ -0,0 +1,10 @@
+package com.jobapptracker.backend.company.dto;
+
+import java.util.List;
+
+public record BatchCreateResponse(
+        int created,
+        int updated,
+        int skipped,
+        List<BatchCreateItemResult> results
+) {}
@@ -0,0 +1,10 @@
+package com.jobapptracker.backend.company.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CompanyImportReject(
+        long line,
+        String careersUrl,
+        String reason
+) {}
@@ -0,0 +1,13 @@
+package com.jobapptracker.backend.company.dto;
+
+import java.util.List;
+
+public record CompanyImportResponse(
+        long received,
+        long created,
+        long updated,
+        long skipped,
+        long rejected,
+        List<CompanyImportReject> rejects,
+        boolean rejectsTruncated
+) {}
@@ -6,5 +6,6 @@ public record PagedCompaniesResponse(
         List<CompanyDto> items,
         int page,
         int size,
-        long total
+        long total,
+        String nextCursor
 ) {}
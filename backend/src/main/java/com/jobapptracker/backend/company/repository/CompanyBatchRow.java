@@ -0,0 +1,19 @@
+package com.jobapptracker.backend.company.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One item of a batch create; a null {@code tagNames} leaves an existing company's links as they are,
+ * while a list, even an empty one, replaces them. A null {@code lastVisitedOn} or {@code revisitAfterDays}
+ * likewise keeps an existing company's value; a new company gets no visit and the default interval.
+ */
+public record CompanyBatchRow(
+        String companyName,
+        String careersUrl,
+        @Nullable LocalDate lastVisitedOn,
+        @Nullable Integer revisitAfterDays,
+        @Nullable List<String> tagNames
+) {}
@@ -0,0 +1,44 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.dto.CompanyDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+public record CompanyCursor(
+        String companyName,
+        UUID companyId
+) {
+
+    private static final char SEPARATOR = '\u0000';
+
+    public static CompanyCursor of(CompanyDto company) {
+        return new CompanyCursor(company.companyName(), company.companyId());
+    }
+
+    public String encode() {
+        String raw = companyName + SEPARATOR + companyId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CompanyCursor decodeOrNull(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Invalid 'after' cursor");
+            }
+            return new CompanyCursor(
+                    raw.substring(0, separatorIndex),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid 'after' cursor");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.web.DueFilter;
+import com.jobapptracker.backend.company.web.MatchMode;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CompanyFilter(
+        String q,
+        MatchMode match,
+        List<String> tagsAny,
+        DueFilter due,
+        LocalDate date,
+        LocalDate lastVisitedOn
+) {
+    public boolean isFuzzySearch() {
+        return match == MatchMode.FUZZY && q != null && !q.isBlank();
+    }
+}
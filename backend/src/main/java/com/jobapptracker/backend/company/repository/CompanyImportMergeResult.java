@@ -0,0 +1,16 @@
+package com.jobapptracker.backend.company.repository;
+
+import java.util.List;
+
+public record CompanyImportMergeResult(
+        long created,
+        long updated,
+        long skipped,
+        List<DuplicateRow> duplicates
+) {
+    public record DuplicateRow(
+            long lineNumber,
+            String careersUrl,
+            long firstLineNumber
+    ) {}
+}
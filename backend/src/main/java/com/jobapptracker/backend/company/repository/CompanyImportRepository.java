@@ -0,0 +1,307 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.CompanyConstants;
+import com.jobapptracker.backend.config.DatabaseConstants;
+import com.jobapptracker.backend.tag.repository.TagRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk import path: rows are streamed into the unlogged staging table with COPY, then merged into
+ * company, tag and company_tag with a handful of set-based statements inside the caller's transaction.
+ * Staged rows are keyed by import_id, so COPY can commit on its own before the merge runs.
+ */
+@Repository
+public class CompanyImportRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CompanyImportRepository.class);
+
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+
+    private static final String STAGING = DatabaseConstants.TABLE_COMPANY_IMPORT_STAGING;
+
+    private static final String COPY_STAGING_SQL = """
+            COPY %s (import_id, line_no, company_name, careers_url, last_visited_on, revisit_after_days, replace_tags, tag_keys, tag_names)
+            FROM STDIN
+            """.formatted(STAGING);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TagRepository tagRepository;
+
+    public CompanyImportRepository(JdbcTemplate jdbcTemplate, TagRepository tagRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * Streams rows into the staging table through the COPY protocol; returns the number of rows copied.
+     * Outside a transaction the rows commit with the COPY; the caller clears them by import_id.
+     */
+    public long copyToStaging(UUID importId, Iterator<CompanyImportRow> rows) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            PGConnection pgConnection = con.unwrap(PGConnection.class);
+            String importIdText = importId.toString();
+
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(pgConnection, COPY_STAGING_SQL, COPY_BUFFER_SIZE);
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+                while (rows.hasNext()) {
+                    writeCopyLine(writer, importIdText, rows.next());
+                }
+
+                writer.flush();
+                return copyStream.endCopy();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to stream import rows to staging", e);
+            } finally {
+                // A parse failure mid-stream must not leave the connection stuck in COPY mode
+                if (copyStream.isActive()) {
+                    copyStream.cancelCopy();
+                }
+            }
+        });
+
+        long count = (copied == null) ? 0L : copied;
+        log.info("Copied {} rows into import staging: importId={}", count, importId);
+        return count;
+    }
+
+    public CompanyImportMergeResult mergeStaging(UUID importId, boolean updateOnConflict) {
+        log.info("Merging import staging: importId={}, updateOnConflict={}", importId, updateOnConflict);
+
+        // A statement cannot insert/update the same careers_url twice, so later repeats are dropped up front
+        List<CompanyImportMergeResult.DuplicateRow> duplicates = jdbcTemplate.query(
+                """
+                DELETE FROM %1$s staged
+                USING (
+                    SELECT
+                        ctid AS row_ctid,
+                        line_no,
+                        MIN(line_no) OVER (PARTITION BY careers_url) AS first_line_no
+                    FROM %1$s
+                    WHERE import_id = ?
+                ) ranked
+                WHERE staged.ctid = ranked.row_ctid
+                  AND ranked.line_no > ranked.first_line_no
+                RETURNING staged.line_no, staged.careers_url, ranked.first_line_no
+                """.formatted(STAGING),
+                (rs, rowNum) -> new CompanyImportMergeResult.DuplicateRow(
+                        rs.getLong("line_no"),
+                        rs.getString("careers_url"),
+                        rs.getLong("first_line_no")
+                ),
+                importId
+        );
+
+        // New tags take the display name from the first row that mentions them; existing tags keep theirs
+        int tagsInserted = jdbcTemplate.update(
+                """
+                INSERT INTO %s (tag_key, tag_name)
+                SELECT DISTINCT ON (staged_tag.tag_key) staged_tag.tag_key, staged_tag.tag_name
+                FROM %s staged
+                CROSS JOIN LATERAL unnest(staged.tag_keys, staged.tag_names) AS staged_tag(tag_key, tag_name)
+                WHERE staged.import_id = ?
+                ORDER BY staged_tag.tag_key, staged.line_no
+                ON CONFLICT (tag_key) DO NOTHING
+                """.formatted(DatabaseConstants.TABLE_TAG, STAGING),
+                importId
+        );
+        if (tagsInserted > 0) {
+            tagRepository.markTagsWritten();
+        }
+
+        String onConflict = updateOnConflict
+                ? """
+                  DO UPDATE SET
+                          company_name = EXCLUDED.company_name,
+                          last_visited_on = coalesce(EXCLUDED.last_visited_on, existing.last_visited_on),
+                          revisit_after_days = coalesce(
+                                  (SELECT staged.revisit_after_days
+                                   FROM %s staged
+                                   WHERE staged.import_id = ?
+                                     AND staged.careers_url = EXCLUDED.careers_url),
+                                  existing.revisit_after_days
+                          ),
+                          updated_at = now()""".formatted(STAGING)
+                : "DO NOTHING";
+
+        // Rows skipped by DO NOTHING are absent from 'written' and keep company_id NULL in staging.
+        // Rows without a last visit or revisit interval keep the stored one; EXCLUDED already holds the
+        // insert default for revisit_after_days, so the staged value is looked up by (import_id, careers_url)
+        Object[] mergeParameters = updateOnConflict
+                ? new Object[] {importId, importId, importId}
+                : new Object[] {importId, importId};
+        jdbcTemplate.update(
+                """
+                WITH written AS (
+                    INSERT INTO %1$s AS existing (company_name, careers_url, last_visited_on, revisit_after_days)
+                    SELECT company_name, careers_url, last_visited_on, coalesce(revisit_after_days, %4$d)
+                    FROM %2$s
+                    WHERE import_id = ?
+                    ORDER BY line_no
+                    ON CONFLICT ON CONSTRAINT uq_company_careers_url %3$s
+                    RETURNING existing.company_id, existing.careers_url, (existing.xmax = 0) AS inserted
+                )
+                UPDATE %2$s staged
+                SET company_id = written.company_id,
+                    inserted = written.inserted
+                FROM written
+                WHERE staged.import_id = ?
+                  AND staged.careers_url = written.careers_url
+                """.formatted(
+                        DatabaseConstants.TABLE_COMPANY_TRACKING,
+                        STAGING,
+                        onConflict,
+                        CompanyConstants.DEFAULT_REVISIT_AFTER_DAYS
+                ),
+                mergeParameters
+        );
+
+        // Updated companies lose links to tags that are no longer listed for them; rows without a tags
+        // field leave the links alone, while an empty list clears them
+        jdbcTemplate.update(
+                """
+                DELETE FROM %s ct
+                USING %s staged
+                WHERE staged.import_id = ?
+                  AND staged.inserted = false
+                  AND staged.replace_tags
+                  AND ct.company_id = staged.company_id
+                  AND NOT EXISTS (
+                      SELECT 1
+                      FROM %s t
+                      WHERE t.tag_id = ct.tag_id
+                        AND t.tag_key = ANY(staged.tag_keys)
+                  )
+                """.formatted(DatabaseConstants.TABLE_COMPANY_TAG, STAGING, DatabaseConstants.TABLE_TAG),
+                importId
+        );
+
+        jdbcTemplate.update(
+                """
+                INSERT INTO %s (company_id, tag_id)
+                SELECT staged.company_id, t.tag_id
+                FROM %s staged
+                CROSS JOIN LATERAL unnest(staged.tag_keys) AS staged_tag(tag_key)
+                JOIN %s t ON t.tag_key = staged_tag.tag_key
+                WHERE staged.import_id = ?
+                  AND staged.company_id IS NOT NULL
+                  AND staged.replace_tags
+                ON CONFLICT DO NOTHING
+                """.formatted(DatabaseConstants.TABLE_COMPANY_TAG, STAGING, DatabaseConstants.TABLE_TAG),
+                importId
+        );
+
+        CompanyImportMergeResult result = jdbcTemplate.queryForObject(
+                """
+                SELECT
+                    COUNT(*) FILTER (WHERE inserted) AS created,
+                    COUNT(*) FILTER (WHERE NOT inserted) AS updated,
+                    COUNT(*) FILTER (WHERE company_id IS NULL) AS skipped
+                FROM %s
+                WHERE import_id = ?
+                """.formatted(STAGING),
+                (rs, rowNum) -> new CompanyImportMergeResult(
+                        rs.getLong("created"),
+                        rs.getLong("updated"),
+                        rs.getLong("skipped"),
+                        duplicates
+                ),
+                importId
+        );
+
+        log.info("Import merge completed: importId={}, created={}, updated={}, skipped={}, duplicates={}, tagsInserted={}",
+                importId, result.created(), result.updated(), result.skipped(), duplicates.size(), tagsInserted);
+        return result;
+    }
+
+    public void clearStaging(UUID importId) {
+        int deleted = jdbcTemplate.update("DELETE FROM " + STAGING + " WHERE import_id = ?", importId);
+        log.debug("Cleared {} import staging rows: importId={}", deleted, importId);
+    }
+
+    private static void writeCopyLine(Writer writer, String importId, CompanyImportRow row) throws IOException {
+        writer.write(importId);
+        writer.write('\t');
+        writer.write(Long.toString(row.lineNumber()));
+        writer.write('\t');
+        writeCopyText(writer, row.companyName());
+        writer.write('\t');
+        writeCopyText(writer, row.careersUrl());
+        writer.write('\t');
+        if (row.lastVisitedOn() == null) {
+            writer.write("\\N");
+        } else {
+            writer.write(row.lastVisitedOn().toString());
+        }
+        writer.write('\t');
+        if (row.revisitAfterDays() == null) {
+            writer.write("\\N");
+        } else {
+            writer.write(Integer.toString(row.revisitAfterDays()));
+        }
+        writer.write('\t');
+        writer.write(row.replaceTags() ? "t" : "f");
+        writer.write('\t');
+        writeCopyText(writer, toArrayLiteral(row.tagKeys()));
+        writer.write('\t');
+        writeCopyText(writer, toArrayLiteral(row.tagNames()));
+        writer.write('\n');
+    }
+
+    // COPY text format: backslash escapes for the delimiter, line breaks and the escape character itself
+    private static void writeCopyText(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    // Array literal with every element quoted, so commas, braces and spaces in tag names survive
+    private static String toArrayLiteral(List<String> values) {
+        if (values.isEmpty()) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder(values.size() * 16);
+        sb.append('{');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"');
+            String value = values.get(i);
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+            sb.append('"');
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
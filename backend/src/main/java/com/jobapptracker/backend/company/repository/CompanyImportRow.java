@@ -0,0 +1,24 @@
+package com.jobapptracker.backend.company.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One validated import row; tagKeys and tagNames are index-aligned and already deduplicated by key.
+ * A null lastVisitedOn or revisitAfterDays keeps an existing company's value; a new company gets no
+ * visit and the default interval.
+ * replaceTags is false when the row carried no tags field, so an existing company keeps its links;
+ * when true the lists replace them, and empty lists clear them.
+ */
+public record CompanyImportRow(
+        long lineNumber,
+        String companyName,
+        String careersUrl,
+        @Nullable LocalDate lastVisitedOn,
+        @Nullable Integer revisitAfterDays,
+        boolean replaceTags,
+        List<String> tagKeys,
+        List<String> tagNames
+) {}
@@ -0,0 +1,16 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.dto.CompanyDto;
+
+import java.util.List;
+
+/**
+ * Page of companies with the window-counted total, or {@link #UNKNOWN_TOTAL} when
+ * the query returned no rows or was not asked to count.
+ */
+public record CompanyPage(
+        List<CompanyDto> items,
+        long total
+) {
+    public static final long UNKNOWN_TOTAL = -1L;
+}
@@ -0,0 +1,257 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.web.DueFilter;
+import com.jobapptracker.backend.company.web.MatchMode;
+import com.jobapptracker.backend.config.DatabaseConstants;
+import com.jobapptracker.backend.config.SqlFragments;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL text and parameter binders for every combination of company list filters, built once per
+ * repository for the schema pg_trgm is installed in. The filter dimensions are q (absent or one of
+ * the match modes), tagsAny, date, lastVisitedOn and due (absent or one of its values; ignored when
+ * date is set), giving {@link #SHAPE_COUNT} shapes, each with one statement per {@link Kind}. A
+ * request only picks a shape and binds its values, so identical filter combinations always send
+ * identical SQL and reuse the driver's server-side prepare.
+ */
+final class CompanyQueryShapes {
+
+    enum Kind {
+        PAGE,
+        PAGE_WITH_TOTAL,
+        KEYSET,
+        STREAM,
+        COUNT,
+        ESTIMATE
+    }
+
+    @FunctionalInterface
+    private interface FilterBinder {
+        // Binds the filter's values starting at index and returns the next free index
+        int bind(Connection con, PreparedStatement preparedStatement, CompanyFilter filter, int index) throws SQLException;
+    }
+
+    private static final MatchMode[] MATCH_MODES = MatchMode.values();
+    private static final DueFilter[] DUE_FILTERS = DueFilter.values();
+
+    // 0 = no q, otherwise 1 + match mode ordinal
+    private static final int Q_VARIANTS = 1 + MATCH_MODES.length;
+    // 0 = neither, 1 = date, otherwise 2 + due ordinal
+    private static final int DATE_DUE_VARIANTS = 2 + DUE_FILTERS.length;
+
+    static final int SHAPE_COUNT = Q_VARIANTS * 2 * DATE_DUE_VARIANTS * 2;
+
+    private static final String SELECT_ITEMS = "SELECT " + SqlFragments.SELECT_COMPANY_WITH_TAGS + "\n"
+            + SqlFragments.FROM_COMPANY + "\n"
+            + "WHERE 1=1\n";
+
+    private static final String SELECT_ITEMS_WITH_TOTAL = "SELECT " + SqlFragments.SELECT_COMPANY_WITH_TAGS
+            + ",\n" + SqlFragments.WINDOW_TOTAL_COUNT + "\n"
+            + SqlFragments.FROM_COMPANY + "\n"
+            + "WHERE 1=1\n";
+
+    // Tags live on the company row, so no join (and no DISTINCT) is needed to count companies
+    private static final String SELECT_COUNT = """
+            SELECT COUNT(*)
+            FROM %s company
+            WHERE 1=1
+            """.formatted(DatabaseConstants.TABLE_COMPANY_TRACKING);
+
+    private static final String EXPLAIN_SELECT = """
+            EXPLAIN SELECT 1
+            FROM %s company
+            WHERE 1=1
+            """.formatted(DatabaseConstants.TABLE_COMPANY_TRACKING);
+
+    private static final String KEYSET_SEEK = " AND (company.company_name, company.company_id) > (?, ?) ";
+
+    private final Shape[] shapes;
+
+    /**
+     * @param trgmSchema schema pg_trgm is installed in; its operator and similarity() are qualified with it
+     */
+    CompanyQueryShapes(String trgmSchema) {
+        this.shapes = buildShapes(
+                SqlFragments.trgmSimilarOperator(trgmSchema),
+                " ORDER BY " + SqlFragments.trgmSimilarity(trgmSchema)
+                        + "(company.company_name, ?) DESC, company.company_name ASC, company.company_id ASC "
+        );
+    }
+
+    Shape forFilter(CompanyFilter filter) {
+        return shapes[shapeIndex(filter)];
+    }
+
+    static int shapeIndex(CompanyFilter filter) {
+        String q = filter.q();
+        int qVariant = (q == null || q.isBlank()) ? 0 : 1 + filter.match().ordinal();
+        int tagsVariant = (filter.tagsAny() == null || filter.tagsAny().isEmpty()) ? 0 : 1;
+        int dateDueVariant;
+        if (filter.date() != null) {
+            dateDueVariant = 1;
+        } else if (filter.due() != null) {
+            dateDueVariant = 2 + filter.due().ordinal();
+        } else {
+            dateDueVariant = 0;
+        }
+        int lastVisitedVariant = (filter.lastVisitedOn() == null) ? 0 : 1;
+
+        return ((qVariant * 2 + tagsVariant) * DATE_DUE_VARIANTS + dateDueVariant) * 2 + lastVisitedVariant;
+    }
+
+    private static Shape[] buildShapes(String similarOperator, String orderBySimilarity) {
+        Shape[] shapes = new Shape[SHAPE_COUNT];
+        for (int qVariant = 0; qVariant < Q_VARIANTS; qVariant++) {
+            for (int tagsVariant = 0; tagsVariant < 2; tagsVariant++) {
+                for (int dateDueVariant = 0; dateDueVariant < DATE_DUE_VARIANTS; dateDueVariant++) {
+                    for (int lastVisitedVariant = 0; lastVisitedVariant < 2; lastVisitedVariant++) {
+                        MatchMode match = (qVariant == 0) ? null : MATCH_MODES[qVariant - 1];
+                        boolean hasDate = (dateDueVariant == 1);
+                        DueFilter due = (dateDueVariant >= 2) ? DUE_FILTERS[dateDueVariant - 2] : null;
+
+                        int index = ((qVariant * 2 + tagsVariant) * DATE_DUE_VARIANTS + dateDueVariant) * 2 + lastVisitedVariant;
+                        shapes[index] = new Shape(match, tagsVariant == 1, hasDate, lastVisitedVariant == 1, due,
+                                similarOperator, orderBySimilarity);
+                    }
+                }
+            }
+        }
+        return shapes;
+    }
+
+    static final class Shape {
+
+        private final boolean fuzzy;
+        private final String[] sqlByKind = new String[Kind.values().length];
+        private final FilterBinder binder;
+
+        private Shape(
+                MatchMode match,
+                boolean hasTags,
+                boolean hasDate,
+                boolean hasLastVisitedOn,
+                DueFilter due,
+                String similarOperator,
+                String orderBySimilarity
+        ) {
+            this.fuzzy = (match == MatchMode.FUZZY);
+
+            StringBuilder where = new StringBuilder();
+            List<FilterBinder> binders = new ArrayList<>();
+
+            if (match != null) {
+                switch (match) {
+                    case PREFIX -> {
+                        where.append(" AND company.company_name ILIKE ? ESCAPE '\\' ");
+                        binders.add((con, ps, filter, index) -> {
+                            ps.setString(index, escapeLike(filter.q().trim()) + "%");
+                            return index + 1;
+                        });
+                    }
+                    case CONTAINS -> {
+                        where.append(" AND (company.company_name ILIKE ? ESCAPE '\\' OR company.careers_url ILIKE ? ESCAPE '\\') ");
+                        binders.add((con, ps, filter, index) -> {
+                            String pattern = "%" + escapeLike(filter.q().trim()) + "%";
+                            ps.setString(index, pattern);
+                            ps.setString(index + 1, pattern);
+                            return index + 2;
+                        });
+                    }
+                    case FUZZY -> {
+                        // Similarity catches typos; the substring arm keeps short queries (< 3 chars) useful
+                        where.append(" AND (company.company_name " + similarOperator + " ? OR company.company_name ILIKE ? ESCAPE '\\') ");
+                        binders.add((con, ps, filter, index) -> {
+                            String trimmedQuery = filter.q().trim();
+                            ps.setString(index, trimmedQuery);
+                            ps.setString(index + 1, "%" + escapeLike(trimmedQuery) + "%");
+                            return index + 2;
+                        });
+                    }
+                }
+            }
+
+            if (hasTags) {
+                where.append(" AND company.tag_keys && ?::text[] ");
+                binders.add((con, ps, filter, index) -> {
+                    ps.setArray(index, con.createArrayOf("text", filter.tagsAny().toArray(String[]::new)));
+                    return index + 1;
+                });
+            }
+
+            if (hasDate) {
+                where.append(" AND company.next_visit_on = ? ");
+                binders.add((con, ps, filter, index) -> {
+                    ps.setDate(index, Date.valueOf(filter.date()));
+                    return index + 1;
+                });
+            }
+
+            if (hasLastVisitedOn) {
+                where.append(" AND company.last_visited_on = ? ");
+                binders.add((con, ps, filter, index) -> {
+                    ps.setDate(index, Date.valueOf(filter.lastVisitedOn()));
+                    return index + 1;
+                });
+            }
+
+            if (due != null) {
+                switch (due) {
+                    case TODAY -> where.append(" AND company.next_visit_on = CURRENT_DATE ");
+                    case OVERDUE -> where.append(" AND company.next_visit_on < CURRENT_DATE ");
+                    case UPCOMING -> where.append(" AND company.next_visit_on > CURRENT_DATE ");
+                }
+            }
+
+            String filters = where.toString();
+            String orderBy = fuzzy ? orderBySimilarity : SqlFragments.ORDER_BY_COMPANY_NAME_ID;
+
+            sqlByKind[Kind.PAGE.ordinal()] = SELECT_ITEMS + filters + orderBy + " LIMIT ? OFFSET ? ";
+            sqlByKind[Kind.PAGE_WITH_TOTAL.ordinal()] = SELECT_ITEMS_WITH_TOTAL + filters + orderBy + " LIMIT ? OFFSET ? ";
+            sqlByKind[Kind.KEYSET.ordinal()] = SELECT_ITEMS + filters + KEYSET_SEEK + orderBy + " LIMIT ? ";
+            sqlByKind[Kind.STREAM.ordinal()] = SELECT_ITEMS + filters + SqlFragments.ORDER_BY_COMPANY_NAME_ID;
+            sqlByKind[Kind.COUNT.ordinal()] = SELECT_COUNT + filters;
+            sqlByKind[Kind.ESTIMATE.ordinal()] = EXPLAIN_SELECT + filters;
+
+            FilterBinder[] steps = binders.toArray(FilterBinder[]::new);
+            this.binder = switch (steps.length) {
+                case 0 -> (con, ps, filter, index) -> index;
+                case 1 -> steps[0];
+                default -> (con, ps, filter, index) -> {
+                    int next = index;
+                    for (FilterBinder step : steps) {
+                        next = step.bind(con, ps, filter, next);
+                    }
+                    return next;
+                };
+            };
+        }
+
+        String sql(Kind kind) {
+            return sqlByKind[kind.ordinal()];
+        }
+
+        boolean fuzzy() {
+            return fuzzy;
+        }
+
+        /**
+         * Binds the filter's values from parameter 1 and returns the index of the first parameter after them.
+         */
+        int bindFilter(Connection con, PreparedStatement preparedStatement, CompanyFilter filter) throws SQLException {
+            return binder.bind(con, preparedStatement, filter, 1);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
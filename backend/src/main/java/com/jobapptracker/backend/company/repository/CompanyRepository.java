@@ -1,168 +1,228 @@
 package com.jobapptracker.backend.company.repository;
 
+import com.jobapptracker.backend.company.CompanyConstants;
 import com.jobapptracker.backend.company.dto.CompanyDto;
 import com.jobapptracker.backend.company.service.CompanyCreationException;
-import com.jobapptracker.backend.company.web.DueFilter;
 import com.jobapptracker.backend.config.DatabaseConstants;
 import com.jobapptracker.backend.config.SqlFragments;
-import com.jobapptracker.backend.tag.dto.TagDto;
+import com.jobapptracker.backend.tag.repository.TagRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Repository
 public class CompanyRepository {
 
     private static final Logger log = LoggerFactory.getLogger(CompanyRepository.class);
 
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
+
+    // Inserts tags the dictionary does not know yet and resolves every requested key to its tag row.
+    // DO NOTHING never rewrites an existing tag (which would fire the tag triggers); keys it did not
+    // return are read through find_tags_by_key (V3), whose fresh snapshot also sees a tag a concurrent
+    // writer committed after this statement started. Parameters: keys[], names[], unknownKeys[].
+    private static final String TAG_RESOLUTION_CTES = """
+            input_tags AS (
+                SELECT input.tag_key, input.tag_name
+                FROM unnest(?::text[], ?::text[]) AS input(tag_key, tag_name)
+            ),
+            upserted_tags AS (
+                INSERT INTO %1$s (tag_key, tag_name)
+                SELECT input_tags.tag_key, input_tags.tag_name
+                FROM input_tags
+                WHERE input_tags.tag_key = ANY(?::text[])
+                ON CONFLICT (tag_key) DO NOTHING
+                RETURNING tag_id, tag_key, tag_name
+            ),
+            resolved_tags AS (
+                SELECT tag_id, tag_key, tag_name FROM upserted_tags
+                UNION ALL
+                SELECT found.tag_id, found.tag_key, found.tag_name
+                FROM %2$s(ARRAY(
+                    SELECT input_tags.tag_key
+                    FROM input_tags
+                    WHERE input_tags.tag_key NOT IN (SELECT tag_key FROM upserted_tags)
+                )) AS found
+            )""".formatted(DatabaseConstants.TABLE_TAG, DatabaseConstants.FUNCTION_FIND_TAGS_BY_KEY);
+
+    // Ordered like the trigger-maintained arrays so the row mapper can zip them
+    private static final String RESOLVED_TAG_COLUMNS = """
+            ARRAY(SELECT tag_key FROM resolved_tags ORDER BY tag_name, tag_key) AS tag_keys,
+                ARRAY(SELECT tag_name FROM resolved_tags ORDER BY tag_name, tag_key) AS tag_names,
+                (SELECT COUNT(*) FROM upserted_tags) AS tags_written""";
+
     private final JdbcTemplate jdbcTemplate;
+    private final TagRepository tagRepository;
     private final CompanyRowMapper rowMapper = new CompanyRowMapper();
+    private final int exportFetchSize;
+    private final CompanyQueryShapes queryShapes;
 
-    public CompanyRepository(JdbcTemplate jdbcTemplate) {
+    public CompanyRepository(
+            JdbcTemplate jdbcTemplate,
+            TagRepository tagRepository,
+            @Value("${export.fetch-size}") int exportFetchSize
+    ) {
         this.jdbcTemplate = jdbcTemplate;
+        this.tagRepository = tagRepository;
+        this.exportFetchSize = exportFetchSize;
+        this.queryShapes = new CompanyQueryShapes(resolveTrgmSchema(jdbcTemplate));
+    }
+
+    // V4 indexes against pg_trgm wherever it is installed (often public); the operator must match that opclass
+    private static String resolveTrgmSchema(JdbcTemplate jdbcTemplate) {
+        List<String> schemas = jdbcTemplate.queryForList("""
+                SELECT namespace.nspname
+                FROM pg_extension extension
+                JOIN pg_namespace namespace ON namespace.oid = extension.extnamespace
+                WHERE extension.extname = 'pg_trgm'
+                """, String.class);
+
+        if (schemas.isEmpty()) {
+            throw new IllegalStateException("Extension pg_trgm is not installed; the V4 migration creates it");
+        }
+        log.info("Using pg_trgm from schema {}", schemas.get(0));
+        return schemas.get(0);
     }
 
-    public List<CompanyDto> findCompanies(
+    public CompanyPage findCompanies(
             int page,
             int size,
-            String q,
-            List<String> tagsAny,
-            DueFilter due,
-            LocalDate date,
-            LocalDate lastVisitedOn
+            CompanyFilter filter,
+            @Nullable CompanyCursor after,
+            boolean withTotal
     ) {
-        String baseSql = "SELECT " + SqlFragments.SELECT_COMPANY_WITH_TAGS + "\n"
-                + SqlFragments.FROM_COMPANY_WITH_TAGS + "\n"
-                + "WHERE 1=1\n";
+        CompanyQueryShapes.Shape shape = queryShapes.forFilter(filter);
 
-        StringBuilder sqlQuery = new StringBuilder(baseSql);
-        List<Object> parameters = new ArrayList<>();
-
-        applyFiltersToQuery(sqlQuery, parameters, q, tagsAny, due, date, lastVisitedOn);
-
-        sqlQuery.append(SqlFragments.GROUP_BY_COMPANY);
-        sqlQuery.append(SqlFragments.ORDER_BY_COMPANY_NAME);
-        sqlQuery.append(" LIMIT ? OFFSET ? ");
+        // Keyset mode seeks past the cursor on (company_name, company_id) and never needs a total;
+        // otherwise COUNT(*) OVER () counts every matching company before LIMIT applies
+        CompanyQueryShapes.Kind kind;
+        if (after != null) {
+            kind = CompanyQueryShapes.Kind.KEYSET;
+        } else {
+            kind = withTotal ? CompanyQueryShapes.Kind.PAGE_WITH_TOTAL : CompanyQueryShapes.Kind.PAGE;
+        }
+        boolean readTotal = (kind == CompanyQueryShapes.Kind.PAGE_WITH_TOTAL);
 
         int limit = size;
 
         long offsetLong = (long) page * size;
-        if (offsetLong > Integer.MAX_VALUE) {
+        if (after == null && offsetLong > Integer.MAX_VALUE) {
             throw new IllegalArgumentException("Offset overflow: page=" + page + ", size=" + size +
                     " results in offset=" + offsetLong + " which exceeds Integer.MAX_VALUE");
         }
         int offset = (int) offsetLong;
 
-        parameters.add(limit);
-        parameters.add(offset);
-
         return jdbcTemplate.query(
-                con -> prepareStatement(con, sqlQuery.toString(), parameters),
-                rowMapper
-        );
-    }
+                con -> {
+                    PreparedStatement preparedStatement = con.prepareStatement(shape.sql(kind));
+                    int index = shape.bindFilter(con, preparedStatement, filter);
 
-    public long countCompanies(
-            String q,
-            List<String> tagsAny,
-            DueFilter due,
-            LocalDate date,
-            LocalDate lastVisitedOn
-    ) {
-        String baseSql = """
-                SELECT COUNT(DISTINCT company.company_id)
-                FROM %s company
-                LEFT JOIN %s ct ON ct.company_id = company.company_id
-                LEFT JOIN %s t ON t.tag_id = ct.tag_id
-                WHERE 1=1
-                """.formatted(
-                DatabaseConstants.TABLE_COMPANY_TRACKING,
-                DatabaseConstants.TABLE_COMPANY_TAG,
-                DatabaseConstants.TABLE_TAG
+                    if (after != null) {
+                        preparedStatement.setString(index++, after.companyName());
+                        preparedStatement.setObject(index++, after.companyId());
+                    }
+                    if (shape.fuzzy()) {
+                        preparedStatement.setString(index++, filter.q().trim());
+                    }
+
+                    preparedStatement.setInt(index++, limit);
+                    if (after == null) {
+                        preparedStatement.setInt(index, offset);
+                    }
+                    return preparedStatement;
+                },
+                resultSet -> {
+                    List<CompanyDto> items = new ArrayList<>(limit);
+                    long total = CompanyPage.UNKNOWN_TOTAL;
+                    while (resultSet.next()) {
+                        if (readTotal && items.isEmpty()) {
+                            total = resultSet.getLong("total_count");
+                        }
+                        items.add(rowMapper.mapRow(resultSet, items.size()));
+                    }
+                    return new CompanyPage(items, total);
+                }
         );
+    }
 
-        StringBuilder sqlQuery = new StringBuilder(baseSql);
-        List<Object> parameters = new ArrayList<>();
+    public void streamCompanies(CompanyFilter filter, Consumer<CompanyDto> consumer) {
+        CompanyQueryShapes.Shape shape = queryShapes.forFilter(filter);
 
-        applyFiltersToQuery(sqlQuery, parameters, q, tagsAny, due, date, lastVisitedOn);
+        // pgjdbc only uses a server-side cursor with a fetch size inside a transaction (autocommit off)
+        jdbcTemplate.query(con -> {
+            PreparedStatement preparedStatement = con.prepareStatement(shape.sql(CompanyQueryShapes.Kind.STREAM));
+            shape.bindFilter(con, preparedStatement, filter);
+            preparedStatement.setFetchSize(exportFetchSize);
+            return preparedStatement;
+        }, (RowCallbackHandler) resultSet -> consumer.accept(rowMapper.mapRow(resultSet, resultSet.getRow())));
+    }
 
-        Long count = jdbcTemplate.queryForObject(
-                sqlQuery.toString(),
-                Long.class,
-                parameters.toArray()
+    public long countCompanies(CompanyFilter filter) {
+        Long count = jdbcTemplate.query(
+                con -> prepareFilterStatement(con, CompanyQueryShapes.Kind.COUNT, filter),
+                resultSet -> resultSet.next() ? resultSet.getLong(1) : null
         );
 
         return (count != null) ? count : 0L;
     }
 
-    private void applyFiltersToQuery(
-            StringBuilder sqlQuery,
-            List<Object> parameters,
-            String q,
-            List<String> tagsAny,
-            DueFilter due,
-            LocalDate date,
-            LocalDate lastVisitedOn
-    ) {
-        boolean hasDateFilter = (date != null);
-        DueFilter effectiveDue = hasDateFilter ? null : due;
-
-        if (q != null && !q.isBlank()) {
-            sqlQuery.append(" AND company.company_name ILIKE ? ESCAPE '\\' ");
-            String escapedQuery = q.trim()
-                    .replace("\\", "\\\\")
-                    .replace("%", "\\%")
-                    .replace("_", "\\_");
-            parameters.add(escapedQuery + "%");
-        }
+    /**
+     * Count with a server-side statement timeout; must run inside a transaction, since SET LOCAL
+     * only lasts until the surrounding transaction ends.
+     */
+    public long countCompanies(CompanyFilter filter, long statementTimeoutMs) {
+        jdbcTemplate.execute("SET LOCAL statement_timeout = " + statementTimeoutMs);
+        return countCompanies(filter);
+    }
 
-        if (tagsAny != null && !tagsAny.isEmpty()) {
-            String tagsFilter = """
-                    AND EXISTS (
-                        SELECT 1
-                        FROM %s ct2
-                        JOIN %s t2 ON t2.tag_id = ct2.tag_id
-                        WHERE ct2.company_id = company.company_id
-                          AND t2.tag_key = ANY(?::text[])
-                    )
-                    """.formatted(
-                    DatabaseConstants.TABLE_COMPANY_TAG,
-                    DatabaseConstants.TABLE_TAG
-            );
-            sqlQuery.append(tagsFilter);
-            parameters.add(tagsAny);
-        }
+    public long estimateCompanies(CompanyFilter filter) {
+        // The top plan node carries the planner's row estimate, e.g. "Seq Scan on company  (cost=... rows=1234 width=4)"
+        String topPlanLine = jdbcTemplate.query(
+                con -> prepareFilterStatement(con, CompanyQueryShapes.Kind.ESTIMATE, filter),
+                resultSet -> resultSet.next() ? resultSet.getString(1) : null
+        );
 
-        if (hasDateFilter) {
-            sqlQuery.append(" AND company.next_visit_on = ? ");
-            parameters.add(date);
+        if (topPlanLine == null) {
+            return 0L;
         }
 
-        if (lastVisitedOn != null) {
-            sqlQuery.append(" AND company.last_visited_on = ? ");
-            parameters.add(lastVisitedOn);
+        Matcher matcher = PLAN_ROWS_PATTERN.matcher(topPlanLine);
+        if (!matcher.find()) {
+            log.warn("Could not read row estimate from plan: {}", topPlanLine);
+            return CompanyPage.UNKNOWN_TOTAL;
         }
+        return Long.parseLong(matcher.group(1));
+    }
 
-        if (effectiveDue != null) {
-            switch (effectiveDue) {
-                case TODAY -> sqlQuery.append(" AND company.next_visit_on = CURRENT_DATE ");
-                case OVERDUE -> sqlQuery.append(" AND company.next_visit_on < CURRENT_DATE ");
-                case UPCOMING -> sqlQuery.append(" AND company.next_visit_on > CURRENT_DATE ");
-            }
-        }
+    private PreparedStatement prepareFilterStatement(Connection con, CompanyQueryShapes.Kind kind, CompanyFilter filter)
+            throws SQLException {
+
+        CompanyQueryShapes.Shape shape = queryShapes.forFilter(filter);
+        PreparedStatement preparedStatement = con.prepareStatement(shape.sql(kind));
+        shape.bindFilter(con, preparedStatement, filter);
+        return preparedStatement;
     }
 
     private PreparedStatement prepareStatement(Connection con, String sqlQuery, List<Object> parameters)
@@ -203,43 +263,50 @@ public class CompanyRepository {
     ) {
         log.debug("Inserting company into database: name={}, url={}", companyName, careersUrl);
 
+        TagInput tagInput = toTagInput(tagNamesRaw);
+
+        // Tag upsert, company insert and tag links run as one statement (one round trip)
         String sqlQuery = """
-                INSERT INTO %s (
-                    company_name,
-                    careers_url,
-                    last_visited_on,
-                    revisit_after_days
+                WITH %s,
+                inserted AS (
+                    INSERT INTO %s (
+                        company_name,
+                        careers_url,
+                        last_visited_on,
+                        revisit_after_days
+                    )
+                    VALUES (?, ?, ?, ?)
+                    RETURNING company_id, company_name, careers_url, last_visited_on,
+                              revisit_after_days, next_visit_on, created_at, updated_at
+                ),
+                linked AS (
+                    INSERT INTO %s (company_id, tag_id)
+                    SELECT inserted.company_id, resolved_tags.tag_id
+                    FROM inserted
+                    CROSS JOIN resolved_tags
+                    ON CONFLICT DO NOTHING
                 )
-                VALUES (?, ?, ?, ?)
-                RETURNING company_id, company_name, careers_url, last_visited_on,
-                          revisit_after_days, next_visit_on, created_at, updated_at
-                """.formatted(DatabaseConstants.TABLE_COMPANY_TRACKING);
+                SELECT
+                    inserted.*,
+                    %s
+                FROM inserted
+                """.formatted(
+                TAG_RESOLUTION_CTES,
+                DatabaseConstants.TABLE_COMPANY_TRACKING,
+                DatabaseConstants.TABLE_COMPANY_TAG,
+                RESOLVED_TAG_COLUMNS
+        );
 
-        CompanyDto inserted = jdbcTemplate.query(con -> {
-            PreparedStatement preparedStatement = con.prepareStatement(sqlQuery);
-            preparedStatement.setString(1, companyName);
-            preparedStatement.setString(2, careersUrl);
-            if (lastVisitedOn == null) {
-                preparedStatement.setNull(3, Types.DATE);
-            } else {
-                preparedStatement.setDate(3, Date.valueOf(lastVisitedOn));
-            }
-            preparedStatement.setInt(4, revisitAfterDays);
-            return preparedStatement;
-        }, resultSet -> {
-            if (!resultSet.next()) return null;
-            return new CompanyDto(
-                    resultSet.getObject("company_id", UUID.class),
-                    resultSet.getString("company_name"),
-                    resultSet.getString("careers_url"),
-                    resultSet.getObject("last_visited_on", LocalDate.class),
-                    resultSet.getInt("revisit_after_days"),
-                    List.of(), // tags will be set below
-                    resultSet.getObject("next_visit_on", LocalDate.class),
-                    resultSet.getObject("created_at", java.time.OffsetDateTime.class),
-                    resultSet.getObject("updated_at", java.time.OffsetDateTime.class)
-            );
-        });
+        List<Object> parameters = new ArrayList<>(tagInput.parameters());
+        parameters.add(companyName);
+        parameters.add(careersUrl);
+        parameters.add(lastVisitedOn);
+        parameters.add(revisitAfterDays);
+
+        CompanyDto inserted = jdbcTemplate.query(
+                con -> prepareStatement(con, sqlQuery, parameters),
+                this::extractWrittenCompany
+        );
 
         if (inserted == null) {
             log.error("Failed to insert company into database: name={}, url={}, lastVisitedOn={}, revisitAfterDays={}",
@@ -248,20 +315,7 @@ public class CompanyRepository {
         }
 
         log.debug("Company inserted successfully: id={}, name={}", inserted.companyId(), companyName);
-
-        List<TagDto> tags = setCompanyTags(inserted.companyId(), tagNamesRaw);
-
-        return new CompanyDto(
-                inserted.companyId(),
-                inserted.companyName(),
-                inserted.careersUrl(),
-                inserted.lastVisitedOn(),
-                inserted.revisitAfterDays(),
-                tags,
-                inserted.nextVisitOn(),
-                inserted.createdAt(),
-                inserted.updatedAt()
-        );
+        return inserted;
     }
 
     public CompanyDto updateCompany(
@@ -275,125 +329,293 @@ public class CompanyRepository {
         log.debug("Updating company in database: id={}", companyId);
 
         List<Object> parameters = new ArrayList<>();
+        List<Object> setParameters = new ArrayList<>();
         List<String> sets = new ArrayList<>();
 
         if (companyName != null) {
             sets.add("company_name = ?");
-            parameters.add(companyName.trim());
+            setParameters.add(companyName.trim());
         }
 
         if (careersUrl != null) {
             sets.add("careers_url = ?");
-            parameters.add(careersUrl.trim());
+            setParameters.add(careersUrl.trim());
         }
 
         if (lastVisitedOn != null) {
             sets.add("last_visited_on = ?");
-            parameters.add(lastVisitedOn);
+            setParameters.add(lastVisitedOn);
         }
 
         if (revisitAfterDays != null) {
             sets.add("revisit_after_days = ?");
-            parameters.add(revisitAfterDays);
+            setParameters.add(revisitAfterDays);
         }
 
         boolean hasScalarUpdate = !sets.isEmpty();
-        boolean hasTagUpdate = (tagNamesRaw != null);
 
-        if (hasScalarUpdate || hasTagUpdate) {
-            sets.add("updated_at = now()");
+        if (!hasScalarUpdate && tagNamesRaw == null) {
+            log.debug("Company update is a no-op: id={}", companyId);
+            return findCompanyById(companyId);
         }
 
-        CompanyDto updated;
-        if (!sets.isEmpty()) {
-            String sqlQuery = """
+        sets.add("updated_at = now()");
+
+        String sqlQuery;
+        if (tagNamesRaw == null) {
+            sqlQuery = """
                     UPDATE %s
                     SET %s
                     WHERE company_id = ?
                     RETURNING company_id, company_name, careers_url, last_visited_on,
-                              revisit_after_days, next_visit_on, created_at, updated_at
+                              revisit_after_days, next_visit_on, created_at, updated_at,
+                              tag_keys, tag_names, 0 AS tags_written
                     """.formatted(
                     DatabaseConstants.TABLE_COMPANY_TRACKING,
                     String.join(", ", sets)
             );
-
+            parameters.addAll(setParameters);
             parameters.add(companyId);
-
-            updated = jdbcTemplate.query(
-                    con -> prepareStatement(con, sqlQuery, parameters),
-                    resultSet -> {
-                        if (!resultSet.next()) return null;
-                        return new CompanyDto(
-                                resultSet.getObject("company_id", UUID.class),
-                                resultSet.getString("company_name"),
-                                resultSet.getString("careers_url"),
-                                resultSet.getObject("last_visited_on", LocalDate.class),
-                                resultSet.getInt("revisit_after_days"),
-                                List.of(), // tags handled separately
-                                resultSet.getObject("next_visit_on", LocalDate.class),
-                                resultSet.getObject("created_at", java.time.OffsetDateTime.class),
-                                resultSet.getObject("updated_at", java.time.OffsetDateTime.class)
-                        );
-                    }
-            );
-
-            if (updated == null) {
-                return null; // not found
-            }
         } else {
-            Integer exists = jdbcTemplate.query(
-                    "SELECT 1 FROM " + DatabaseConstants.TABLE_COMPANY_TRACKING + " WHERE company_id = ?",
-                    resultSet -> resultSet.next() ? 1 : null,
-                    companyId
+            // 'target' locks the row and compares the requested key set with its latest tag_keys, so the
+            // "tags unchanged" decision cannot race a concurrent PATCH. Unchanged tags skip the link
+            // writes, and without scalar changes the company row is not written either: the statement
+            // then returns the locked row as it is, and updated_at stays put
+            String writeCondition = hasScalarUpdate ? "" : "AND target.tags_changed";
+            sqlQuery = """
+                    WITH %1$s,
+                    target AS (
+                        SELECT
+                            company.company_id, company.company_name, company.careers_url, company.last_visited_on,
+                            company.revisit_after_days, company.next_visit_on, company.created_at, company.updated_at,
+                            company.tag_keys, company.tag_names,
+                            ARRAY(SELECT tag_key FROM resolved_tags ORDER BY tag_key)
+                                IS DISTINCT FROM ARRAY(SELECT current_key FROM unnest(company.tag_keys) AS current_key ORDER BY current_key)
+                                AS tags_changed
+                        FROM %2$s company
+                        WHERE company.company_id = ?
+                        FOR UPDATE
+                    ),
+                    updated AS (
+                        UPDATE %2$s company
+                        SET %3$s
+                        FROM target
+                        WHERE company.company_id = target.company_id
+                          %4$s
+                        RETURNING company.company_id, company.company_name, company.careers_url, company.last_visited_on,
+                                  company.revisit_after_days, company.next_visit_on, company.created_at, company.updated_at
+                    ),
+                    removed AS (
+                        DELETE FROM %5$s ct
+                        USING target
+                        WHERE ct.company_id = target.company_id
+                          AND target.tags_changed
+                          AND ct.tag_id NOT IN (SELECT tag_id FROM resolved_tags)
+                    ),
+                    linked AS (
+                        INSERT INTO %5$s (company_id, tag_id)
+                        SELECT target.company_id, resolved_tags.tag_id
+                        FROM target
+                        CROSS JOIN resolved_tags
+                        WHERE target.tags_changed
+                        ON CONFLICT DO NOTHING
+                    )
+                    SELECT
+                        updated.*,
+                        %6$s
+                    FROM updated
+                    UNION ALL
+                    SELECT
+                        target.company_id, target.company_name, target.careers_url, target.last_visited_on,
+                        target.revisit_after_days, target.next_visit_on, target.created_at, target.updated_at,
+                        target.tag_keys, target.tag_names, 0 AS tags_written
+                    FROM target
+                    WHERE NOT EXISTS (SELECT 1 FROM updated)
+                    """.formatted(
+                    TAG_RESOLUTION_CTES,
+                    DatabaseConstants.TABLE_COMPANY_TRACKING,
+                    String.join(", ", sets),
+                    writeCondition,
+                    DatabaseConstants.TABLE_COMPANY_TAG,
+                    RESOLVED_TAG_COLUMNS
             );
-            if (exists == null) {
-                return null;
-            }
-            updated = findCompanyById(companyId);
-            if (updated == null) {
-                return null;
-            }
+            parameters.addAll(toTagInput(tagNamesRaw).parameters());
+            parameters.add(companyId);
+            parameters.addAll(setParameters);
         }
 
-        List<TagDto> tags;
-        if (hasTagUpdate) {
-            tags = setCompanyTags(companyId, tagNamesRaw);
-        } else {
-            tags = fetchTagsForCompany(companyId);
+        CompanyDto updated = jdbcTemplate.query(
+                con -> prepareStatement(con, sqlQuery, parameters),
+                this::extractWrittenCompany
+        );
+
+        if (updated == null) {
+            return null; // not found
         }
 
         log.debug("Company updated successfully in database: id={}", companyId);
-
-        return new CompanyDto(
-                updated.companyId(),
-                updated.companyName(),
-                updated.careersUrl(),
-                updated.lastVisitedOn(),
-                updated.revisitAfterDays(),
-                tags,
-                updated.nextVisitOn(),
-                updated.createdAt(),
-                updated.updatedAt()
-        );
+        return updated;
     }
 
-    private List<TagDto> fetchTagsForCompany(UUID companyId) {
+    private CompanyDto findCompanyById(UUID companyId) {
         String sqlQuery = """
-                SELECT t.tag_key, t.tag_name
-                FROM %s ct
-                JOIN %s t ON t.tag_id = ct.tag_id
-                WHERE ct.company_id = ?
-                ORDER BY t.tag_name
-                """.formatted(DatabaseConstants.TABLE_COMPANY_TAG, DatabaseConstants.TABLE_TAG);
+                SELECT
+                %s
+                %s
+                WHERE company.company_id = ?
+                """.formatted(SqlFragments.SELECT_COMPANY_WITH_TAGS, SqlFragments.FROM_COMPANY);
+
+        List<CompanyDto> companies = jdbcTemplate.query(sqlQuery, rowMapper, companyId);
+        return companies.isEmpty() ? null : companies.get(0);
+    }
 
-        return jdbcTemplate.query(
-                sqlQuery,
-                (resultSet, rowNum) -> new TagDto(
-                        resultSet.getString("tag_key"),
-                        resultSet.getString("tag_name")
+    public List<CompanyWriteResult> upsertCompanies(List<CompanyBatchRow> rows, boolean updateOnConflict) {
+        if (rows == null || rows.isEmpty()) {
+            return List.of();
+        }
+
+        log.info("Batch writing {} companies to database: updateOnConflict={}", rows.size(), updateOnConflict);
+
+        int size = rows.size();
+        Integer[] ordinals = new Integer[size];
+        String[] names = new String[size];
+        String[] urls = new String[size];
+        String[] lastVisited = new String[size];
+        Integer[] revisits = new Integer[size];
+        Boolean[] replaceTags = new Boolean[size];
+
+        List<Integer> linkOrdinals = new ArrayList<>();
+        List<String> linkKeys = new ArrayList<>();
+        List<String> allTagNames = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            CompanyBatchRow row = rows.get(i);
+            ordinals[i] = i;
+            names[i] = row.companyName();
+            urls[i] = row.careersUrl();
+            lastVisited[i] = (row.lastVisitedOn() == null) ? null : row.lastVisitedOn().toString();
+            revisits[i] = row.revisitAfterDays();
+            replaceTags[i] = row.tagNames() != null;
+
+            Set<String> rowKeys = new HashSet<>();
+            for (String displayName : normalizeTagNames(row.tagNames())) {
+                String key = CompanyTagUtil.toTagKey(displayName);
+                if (!key.isBlank() && rowKeys.add(key)) {
+                    linkOrdinals.add(i);
+                    linkKeys.add(key);
+                    allTagNames.add(displayName);
+                }
+            }
+        }
+
+        TagInput tagInput = toTagInput(allTagNames);
+
+        String onConflict = updateOnConflict
+                ? """
+                  DO UPDATE SET
+                          company_name = EXCLUDED.company_name,
+                          last_visited_on = coalesce(EXCLUDED.last_visited_on, existing.last_visited_on),
+                          revisit_after_days = coalesce(
+                                  (SELECT input.revisit_after_days FROM input WHERE input.careers_url = EXCLUDED.careers_url),
+                                  existing.revisit_after_days
+                          ),
+                          updated_at = now()"""
+                : "DO NOTHING";
+
+        // Companies, tags and links for the whole batch in one statement; rows skipped by
+        // DO NOTHING are absent from 'written', so they get no links either. An updated company
+        // only loses links when its row carried a tag list (replace_tags), and keeps its last visit
+        // and revisit interval when the row omits them. EXCLUDED already holds the insert default
+        // for revisit_after_days, so the raw value is read back from input
+        String sqlQuery = """
+                WITH %s,
+                input AS (
+                    SELECT *
+                    FROM unnest(?::int[], ?::text[], ?::text[], ?::text[]::date[], ?::int[], ?::boolean[])
+                        AS input(ordinal, company_name, careers_url, last_visited_on, revisit_after_days, replace_tags)
                 ),
-                companyId
+                input_links AS (
+                    SELECT *
+                    FROM unnest(?::int[], ?::text[]) AS link(ordinal, tag_key)
+                ),
+                written AS (
+                    INSERT INTO %s AS existing (company_name, careers_url, last_visited_on, revisit_after_days)
+                    SELECT company_name, careers_url, last_visited_on, coalesce(revisit_after_days, %d)
+                    FROM input
+                    ORDER BY ordinal
+                    ON CONFLICT ON CONSTRAINT uq_company_careers_url %s
+                    RETURNING existing.company_id, existing.careers_url, (existing.xmax = 0) AS inserted
+                ),
+                removed AS (
+                    DELETE FROM %s ct
+                    USING written
+                    JOIN input ON input.careers_url = written.careers_url
+                    WHERE ct.company_id = written.company_id
+                      AND input.replace_tags
+                      AND NOT EXISTS (
+                          SELECT 1
+                          FROM input_links
+                          JOIN resolved_tags ON resolved_tags.tag_key = input_links.tag_key
+                          WHERE input_links.ordinal = input.ordinal
+                            AND resolved_tags.tag_id = ct.tag_id
+                      )
+                ),
+                linked AS (
+                    INSERT INTO %s (company_id, tag_id)
+                    SELECT written.company_id, resolved_tags.tag_id
+                    FROM written
+                    JOIN input ON input.careers_url = written.careers_url
+                    JOIN input_links ON input_links.ordinal = input.ordinal
+                    JOIN resolved_tags ON resolved_tags.tag_key = input_links.tag_key
+                    ON CONFLICT DO NOTHING
+                )
+                SELECT
+                    written.company_id,
+                    written.careers_url,
+                    written.inserted,
+                    (SELECT COUNT(*) FROM upserted_tags) AS tags_written
+                FROM written
+                """.formatted(
+                TAG_RESOLUTION_CTES,
+                DatabaseConstants.TABLE_COMPANY_TRACKING,
+                CompanyConstants.DEFAULT_REVISIT_AFTER_DAYS,
+                onConflict,
+                DatabaseConstants.TABLE_COMPANY_TAG,
+                DatabaseConstants.TABLE_COMPANY_TAG
         );
+
+        List<Object> parameters = new ArrayList<>(tagInput.parameters());
+
+        List<CompanyWriteResult> written = new ArrayList<>(size);
+        long[] tagsWritten = {0};
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement preparedStatement = prepareStatement(con, sqlQuery, parameters);
+            int index = parameters.size() + 1;
+            preparedStatement.setArray(index++, con.createArrayOf("int4", ordinals));
+            preparedStatement.setArray(index++, con.createArrayOf("text", names));
+            preparedStatement.setArray(index++, con.createArrayOf("text", urls));
+            preparedStatement.setArray(index++, con.createArrayOf("text", lastVisited));
+            preparedStatement.setArray(index++, con.createArrayOf("int4", revisits));
+            preparedStatement.setArray(index++, con.createArrayOf("bool", replaceTags));
+            preparedStatement.setArray(index++, con.createArrayOf("int4", linkOrdinals.toArray(Integer[]::new)));
+            preparedStatement.setArray(index, con.createArrayOf("text", linkKeys.toArray(String[]::new)));
+            return preparedStatement;
+        }, resultSet -> {
+            tagsWritten[0] = resultSet.getLong("tags_written");
+            written.add(new CompanyWriteResult(
+                    resultSet.getObject("company_id", UUID.class),
+                    resultSet.getString("careers_url"),
+                    resultSet.getBoolean("inserted")
+            ));
+        });
+
+        if (tagsWritten[0] > 0) {
+            tagRepository.markTagsWritten();
+        }
+
+        log.info("Batch write completed: {} of {} companies written to database", written.size(), size);
+        return written;
     }
 
     public int deleteCompany(UUID companyId) {
@@ -440,33 +662,36 @@ public class CompanyRepository {
         return deleted;
     }
 
-    private CompanyDto findCompanyById(UUID companyId) {
-        String sqlQuery = "SELECT " + SqlFragments.SELECT_COMPANY_WITH_TAGS + "\n"
-                + SqlFragments.FROM_COMPANY_WITH_TAGS + "\n"
-                + "WHERE company.company_id = ?\n"
-                + SqlFragments.GROUP_BY_COMPANY;
+    private CompanyDto extractWrittenCompany(ResultSet resultSet) throws SQLException {
+        if (!resultSet.next()) {
+            return null;
+        }
 
-        List<CompanyDto> rows = jdbcTemplate.query(sqlQuery, rowMapper, companyId);
-        return rows.isEmpty() ? null : rows.getFirst();
+        if (resultSet.getLong("tags_written") > 0) {
+            tagRepository.markTagsWritten();
+        }
+        return rowMapper.mapRow(resultSet, 0);
     }
 
-    private List<TagDto> setCompanyTags(UUID companyId, List<String> tagNamesRaw) {
-        List<String> displayNames = normalizeTagNames(tagNamesRaw);
+    private TagInput toTagInput(List<String> tagNamesRaw) {
+        Map<String, String> namesByKey = toTagKeys(tagNamesRaw);
+        List<String> keys = List.copyOf(namesByKey.keySet());
+        return new TagInput(keys, List.copyOf(namesByKey.values()), tagRepository.filterUnknownKeys(keys));
+    }
 
-        if (displayNames.isEmpty()) {
-            clearCompanyTags(companyId);
-            return List.of();
+    // One display name per key; the first spelling wins, as with ON CONFLICT DO NOTHING
+    private static Map<String, String> toTagKeys(List<String> tagNamesRaw) {
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        for (String displayName : normalizeTagNames(tagNamesRaw)) {
+            String key = CompanyTagUtil.toTagKey(displayName);
+            if (!key.isBlank()) {
+                namesByKey.putIfAbsent(key, displayName);
+            }
         }
-
-        List<UUID> newTagIds = fetchTagIdsByKeys(displayNames);
-        List<UUID> currentTagIds = fetchCurrentTagIds(companyId);
-
-        applyTagChanges(companyId, currentTagIds, newTagIds);
-
-        return buildTagDtos(displayNames);
+        return namesByKey;
     }
 
-    private List<String> normalizeTagNames(List<String> tagNamesRaw) {
+    private static List<String> normalizeTagNames(List<String> tagNamesRaw) {
         if (tagNamesRaw == null || tagNamesRaw.isEmpty()) {
             return List.of();
         }
@@ -478,83 +703,13 @@ public class CompanyRepository {
                 .toList();
     }
 
-    private void clearCompanyTags(UUID companyId) {
-        jdbcTemplate.update(
-                "DELETE FROM " + DatabaseConstants.TABLE_COMPANY_TAG + " WHERE company_id = ?",
-                companyId
-        );
-    }
-
-    private List<UUID> fetchTagIdsByKeys(List<String> displayNames) {
-        List<String> keys = displayNames.stream()
-                .map(CompanyTagUtil::toTagKey)
-                .distinct()
-                .toList();
-
-        String sql = """
-                SELECT tag_id FROM %s WHERE tag_key = ANY(?::text[])
-                """.formatted(DatabaseConstants.TABLE_TAG);
-
-        return jdbcTemplate.query(con -> {
-            PreparedStatement ps = con.prepareStatement(sql);
-            ps.setArray(1, con.createArrayOf("text", keys.toArray(String[]::new)));
-            return ps;
-        }, (rs, rowNum) -> rs.getObject("tag_id", UUID.class));
-    }
-
-    private List<UUID> fetchCurrentTagIds(UUID companyId) {
-        String sql = """
-                SELECT tag_id FROM %s WHERE company_id = ?
-                """.formatted(DatabaseConstants.TABLE_COMPANY_TAG);
-
-        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getObject("tag_id", UUID.class), companyId);
-    }
-
-    private void applyTagChanges(UUID companyId, List<UUID> currentTagIds, List<UUID> newTagIds) {
-        Set<UUID> currentSet = new HashSet<>(currentTagIds);
-        Set<UUID> newSet = new HashSet<>(newTagIds);
-
-        List<UUID> toRemove = currentTagIds.stream()
-                .filter(id -> !newSet.contains(id))
-                .toList();
-
-        List<UUID> toAdd = newTagIds.stream()
-                .filter(id -> !currentSet.contains(id))
-                .toList();
-
-        if (!toRemove.isEmpty()) {
-            removeCompanyTags(companyId, toRemove);
-        }
-        if (!toAdd.isEmpty()) {
-            addCompanyTags(companyId, toAdd);
+    private record TagInput(
+            List<String> keys,
+            List<String> names,
+            List<String> unknownKeys
+    ) {
+        List<Object> parameters() {
+            return List.of(keys, names, unknownKeys);
         }
     }
-
-    private void removeCompanyTags(UUID companyId, List<UUID> tagIds) {
-        String sql = """
-                DELETE FROM %s WHERE company_id = ? AND tag_id = ?
-                """.formatted(DatabaseConstants.TABLE_COMPANY_TAG);
-
-        jdbcTemplate.batchUpdate(sql, tagIds, tagIds.size(), (ps, tagId) -> {
-            ps.setObject(1, companyId);
-            ps.setObject(2, tagId);
-        });
-    }
-
-    private void addCompanyTags(UUID companyId, List<UUID> tagIds) {
-        String sql = """
-                INSERT INTO %s (company_id, tag_id) VALUES (?, ?) ON CONFLICT DO NOTHING
-                """.formatted(DatabaseConstants.TABLE_COMPANY_TAG);
-
-        jdbcTemplate.batchUpdate(sql, tagIds, tagIds.size(), (ps, tagId) -> {
-            ps.setObject(1, companyId);
-            ps.setObject(2, tagId);
-        });
-    }
-
-    private List<TagDto> buildTagDtos(List<String> displayNames) {
-        return displayNames.stream()
-                .map(name -> new TagDto(CompanyTagUtil.toTagKey(name), name))
-                .toList();
-    }
 }
@@ -1,21 +1,17 @@
 package com.jobapptracker.backend.company.repository;
 
-import java.text.Normalizer;
-
 public final class CompanyTagUtil {
     private CompanyTagUtil() {}
 
+    /**
+     * Trims, lower-cases, NFKD-normalizes and strips everything outside [a-z0-9].
+     * Surrounding whitespace needs no separate trim since it is stripped with the rest.
+     */
     public static String toTagKey(String raw) {
         if (raw == null) {
             return "";
         }
 
-        String s = raw.trim().toLowerCase();
-
-        s = Normalizer.normalize(s, Normalizer.Form.NFKD);
-
-        s = s.replaceAll("[^a-z0-9]", "");
-
-        return s;
+        return TagKeyCanonicalizer.canonicalize(raw);
     }
 }
@@ -0,0 +1,9 @@
+package com.jobapptracker.backend.company.repository;
+
+import java.util.UUID;
+
+public record CompanyWriteResult(
+        UUID companyId,
+        String careersUrl,
+        boolean inserted
+) {}
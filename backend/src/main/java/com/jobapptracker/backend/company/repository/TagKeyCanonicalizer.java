@@ -0,0 +1,99 @@
+package com.jobapptracker.backend.company.repository;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Computes tag keys: lower-case, NFKD-decomposed, reduced to [a-z0-9].
+ * Input that is already a key is returned as is after one pass over the chars. Everything else is
+ * memoized in a small direct-mapped cache (a fixed slot per hash, last writer wins, no locking), so
+ * the small, repeating tag vocabulary allocates nothing once warm. Misses filter ASCII input in one
+ * pass; only non-ASCII input pays for toLowerCase + NFKD.
+ */
+final class TagKeyCanonicalizer {
+
+    private static final int CACHE_SIZE = 1024; // power of two
+    private static final int MAX_CACHED_LENGTH = 128;
+
+    // Key char for each ASCII char, or -1 when the char is dropped
+    private static final int[] ASCII_KEY_CHARS = new int[128];
+
+    static {
+        for (int c = 0; c < ASCII_KEY_CHARS.length; c++) {
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                ASCII_KEY_CHARS[c] = c;
+            } else if (c >= 'A' && c <= 'Z') {
+                ASCII_KEY_CHARS[c] = c + ('a' - 'A');
+            } else {
+                ASCII_KEY_CHARS[c] = -1;
+            }
+        }
+    }
+
+    // Entries are immutable, so racing readers see either a complete entry or a stale one
+    private static final CacheEntry[] CACHE = new CacheEntry[CACHE_SIZE];
+
+    private record CacheEntry(String raw, String key) {}
+
+    private TagKeyCanonicalizer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static String canonicalize(String raw) {
+        int length = raw.length();
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c >= 0x80 || ASCII_KEY_CHARS[c] != c) {
+                return canonicalizeCached(raw);
+            }
+        }
+        return raw; // already a key
+    }
+
+    private static String canonicalizeCached(String raw) {
+        int hash = raw.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1); // spread like HashMap: short strings differ mostly in high bits
+        CacheEntry cached = CACHE[slot];
+        if (cached != null && cached.raw().equals(raw)) {
+            return cached.key();
+        }
+
+        String key = filter(raw);
+        if (raw.length() <= MAX_CACHED_LENGTH) {
+            CACHE[slot] = new CacheEntry(raw, key);
+        }
+        return key;
+    }
+
+    private static String filter(String raw) {
+        int length = raw.length();
+        char[] out = new char[length];
+        int outLength = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c >= 0x80) {
+                return decomposeAndFilter(raw);
+            }
+            int keyChar = ASCII_KEY_CHARS[c];
+            if (keyChar >= 0) {
+                out[outLength++] = (char) keyChar;
+            }
+        }
+        return new String(out, 0, outLength);
+    }
+
+    // Same order as the original rules: lower-case first, then NFKD, then keep only [a-z0-9]
+    private static String decomposeAndFilter(String raw) {
+        String normalized = Normalizer.normalize(raw.toLowerCase(Locale.ROOT), Normalizer.Form.NFKD);
+
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,292 @@
+package com.jobapptracker.backend.company.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jobapptracker.backend.company.CompanyConstants;
+import com.jobapptracker.backend.company.dto.CompanyCreateRequest;
+import com.jobapptracker.backend.company.dto.CompanyImportReject;
+import com.jobapptracker.backend.company.repository.CompanyImportRow;
+import com.jobapptracker.backend.company.repository.CompanyTagUtil;
+import com.jobapptracker.backend.config.CsvReader;
+import com.jobapptracker.backend.config.ExportFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Parses an uploaded CSV or NDJSON body into validated import rows, one at a time.
+ * Invalid rows are handed to the reject callback and never reach the database.
+ * CSV columns are matched by header name, so a companies export can be imported as-is.
+ */
+class CompanyImportReader implements Iterator<CompanyImportRow>, AutoCloseable {
+
+    private static final Pattern CAREERS_URL_PATTERN = Pattern.compile("^https?://[^\\s/$.?#].[^\\s]*$");
+
+    private static final String CSV_TAG_SEPARATOR = ";";
+
+    private final BufferedReader reader;
+    private final ExportFormat format;
+    private final ObjectReader jsonReader;
+    private final Consumer<CompanyImportReject> onReject;
+
+    private CsvReader csvReader;
+    private Map<String, Integer> csvColumns;
+    private long ndjsonLine;
+
+    private CompanyImportRow nextRow;
+    private long received;
+
+    CompanyImportReader(BufferedReader reader, ExportFormat format, ObjectReader jsonReader, Consumer<CompanyImportReject> onReject) {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = jsonReader.forType(CompanyCreateRequest.class);
+        this.onReject = onReject;
+    }
+
+    long received() {
+        return received;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextRow == null) {
+                boolean more = (format == ExportFormat.CSV) ? readCsvRow() : readNdjsonRow();
+                if (!more) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+    }
+
+    @Override
+    public CompanyImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CompanyImportRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    private boolean readCsvRow() throws IOException {
+        if (csvReader == null) {
+            csvReader = new CsvReader(reader);
+            csvColumns = readCsvHeader(csvReader.next());
+        }
+
+        List<String> values = csvReader.next();
+        if (values == null) {
+            return false;
+        }
+
+        received++;
+        long line = csvReader.recordLine();
+        String careersUrl = csvValue(values, "careersurl");
+
+        try {
+            nextRow = toImportRow(
+                    line,
+                    csvValue(values, "companyname"),
+                    careersUrl,
+                    parseDate(csvValue(values, "lastvisitedon")),
+                    parseRevisitAfterDays(csvValue(values, "revisitafterdays")),
+                    csvColumns.containsKey("tags"),
+                    splitCsvTags(csvValue(values, "tags"))
+            );
+        } catch (IllegalArgumentException e) {
+            onReject.accept(new CompanyImportReject(line, blankToNull(careersUrl), e.getMessage()));
+        }
+        return true;
+    }
+
+    private boolean readNdjsonRow() throws IOException {
+        String json = reader.readLine();
+        while (json != null && json.isBlank()) {
+            ndjsonLine++;
+            json = reader.readLine();
+        }
+        if (json == null) {
+            return false;
+        }
+
+        ndjsonLine++;
+        received++;
+
+        CompanyCreateRequest request;
+        try {
+            request = jsonReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            onReject.accept(new CompanyImportReject(ndjsonLine, null, "Malformed JSON: " + e.getOriginalMessage()));
+            return true;
+        }
+
+        try {
+            if (request.revisitAfterDays() != null && request.revisitAfterDays() < CompanyConstants.MIN_REVISIT_AFTER_DAYS) {
+                throw new IllegalArgumentException("revisitAfterDays must be > 0");
+            }
+            nextRow = toImportRow(
+                    ndjsonLine,
+                    request.companyName(),
+                    request.careersUrl(),
+                    request.lastVisitedOn(),
+                    request.revisitAfterDays(),
+                    request.tags() != null,
+                    CompanyService.extractTagDisplayNames(request.tags())
+            );
+        } catch (IllegalArgumentException e) {
+            onReject.accept(new CompanyImportReject(ndjsonLine, blankToNull(request.careersUrl()), e.getMessage()));
+        }
+        return true;
+    }
+
+    private static CompanyImportRow toImportRow(
+            long line,
+            String companyNameRaw,
+            String careersUrlRaw,
+            LocalDate lastVisitedOn,
+            Integer revisitAfterDays,
+            boolean replaceTags,
+            List<String> tagNamesRaw
+    ) {
+        String companyName = (companyNameRaw == null) ? "" : companyNameRaw.trim();
+        String careersUrl = (careersUrlRaw == null) ? "" : careersUrlRaw.trim();
+
+        if (companyName.isEmpty()) {
+            throw new IllegalArgumentException("companyName is required and must not be blank");
+        }
+        if (companyName.length() > CompanyConstants.MAX_COMPANY_NAME_LENGTH) {
+            throw new IllegalArgumentException("companyName must not exceed " + CompanyConstants.MAX_COMPANY_NAME_LENGTH + " characters");
+        }
+        if (careersUrl.isEmpty()) {
+            throw new IllegalArgumentException("careersUrl is required and must not be blank");
+        }
+        if (careersUrl.length() > CompanyConstants.MAX_CAREERS_URL_LENGTH) {
+            throw new IllegalArgumentException("careersUrl must not exceed " + CompanyConstants.MAX_CAREERS_URL_LENGTH + " characters");
+        }
+        if (!CAREERS_URL_PATTERN.matcher(careersUrl).matches()) {
+            throw new IllegalArgumentException("careersUrl must be a valid URL starting with http:// or https://");
+        }
+
+        // Same key rules as the REST write path; first display name wins for a key
+        Map<String, String> tagsByKey = new LinkedHashMap<>();
+        for (String tagName : tagNamesRaw) {
+            String trimmed = tagName.trim();
+            String key = CompanyTagUtil.toTagKey(trimmed);
+            if (!key.isBlank()) {
+                tagsByKey.putIfAbsent(key, trimmed);
+            }
+        }
+
+        if (containsNul(companyName) || containsNul(careersUrl) || tagsByKey.values().stream().anyMatch(CompanyImportReader::containsNul)) {
+            throw new IllegalArgumentException("Values must not contain NUL characters");
+        }
+
+        return new CompanyImportRow(
+                line,
+                companyName,
+                careersUrl,
+                lastVisitedOn,
+                revisitAfterDays,
+                replaceTags,
+                List.copyOf(tagsByKey.keySet()),
+                List.copyOf(tagsByKey.values())
+        );
+    }
+
+    private static Map<String, Integer> readCsvHeader(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import body is empty; expected a header row");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.containsKey("companyname") || !columns.containsKey("careersurl")) {
+            throw new IllegalArgumentException("CSV header must include companyName and careersUrl columns");
+        }
+        return columns;
+    }
+
+    private String csvValue(List<String> values, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static List<String> splitCsvTags(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return List.of();
+        }
+
+        List<String> tags = new ArrayList<>();
+        for (String tag : raw.split(CSV_TAG_SEPARATOR)) {
+            if (!tag.isBlank()) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static LocalDate parseDate(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(raw.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid lastVisitedOn format. Expected YYYY-MM-DD.");
+        }
+    }
+
+    // Absent or blank: null, so the merge keeps an existing company's interval and defaults a new one
+    private static Integer parseRevisitAfterDays(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+
+        int days;
+        try {
+            days = Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("revisitAfterDays must be a whole number");
+        }
+        if (days < CompanyConstants.MIN_REVISIT_AFTER_DAYS) {
+            throw new IllegalArgumentException("revisitAfterDays must be > 0");
+        }
+        return days;
+    }
+
+    private static boolean containsNul(String value) {
+        return value.indexOf('\u0000') >= 0;
+    }
+
+    private static String blankToNull(String value) {
+        return (value == null || value.isBlank()) ? null : value.trim();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
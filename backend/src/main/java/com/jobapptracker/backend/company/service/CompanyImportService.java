@@ -0,0 +1,133 @@
+package com.jobapptracker.backend.company.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobapptracker.backend.company.CompanyConstants;
+import com.jobapptracker.backend.company.dto.CompanyImportReject;
+import com.jobapptracker.backend.company.dto.CompanyImportResponse;
+import com.jobapptracker.backend.company.repository.CompanyImportMergeResult;
+import com.jobapptracker.backend.company.repository.CompanyImportRepository;
+import com.jobapptracker.backend.company.web.ConflictMode;
+import com.jobapptracker.backend.config.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class CompanyImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompanyImportService.class);
+
+    private static final int READ_BUFFER_SIZE = 256 * 1024;
+
+    private final CompanyImportRepository importRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    public CompanyImportService(
+            CompanyImportRepository importRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.importRepository = importRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Either every valid row is merged or none is. The upload is first spooled to a temp file without
+     * holding a connection, so a slow client cannot pin a pooled connection; the file is then COPYed
+     * into staging (autocommit) and only the merge runs in a transaction.
+     */
+    public CompanyImportResponse importCompanies(InputStream body, ExportFormat format, ConflictMode onConflict) throws IOException {
+        UUID importId = UUID.randomUUID();
+        long startedAt = System.nanoTime();
+        log.info("Importing companies: importId={}, format={}, onConflict={}", importId, format, onConflict);
+
+        Path spool = Files.createTempFile("company-import-" + importId, ".tmp");
+        try {
+            long bytes = Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Import body spooled: importId={}, bytes={}", importId, bytes);
+            return importSpooled(importId, spool, format, onConflict, startedAt);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private CompanyImportResponse importSpooled(
+            UUID importId,
+            Path spool,
+            ExportFormat format,
+            ConflictMode onConflict,
+            long startedAt
+    ) throws IOException {
+        RejectCollector rejects = new RejectCollector();
+        long received;
+        long staged;
+        CompanyImportMergeResult merged;
+
+        try {
+            BufferedReader bodyReader = new BufferedReader(
+                    new InputStreamReader(Files.newInputStream(spool), StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+            try (CompanyImportReader reader = new CompanyImportReader(bodyReader, format, objectMapper.reader(), rejects::add)) {
+                staged = importRepository.copyToStaging(importId, reader);
+                received = reader.received();
+            }
+
+            merged = transaction.execute(status -> {
+                CompanyImportMergeResult result = importRepository.mergeStaging(importId, onConflict == ConflictMode.UPDATE);
+                importRepository.clearStaging(importId);
+                return result;
+            });
+        } catch (RuntimeException | IOException e) {
+            // COPY committed on its own, so a failed parse or merge leaves staged rows behind
+            importRepository.clearStaging(importId);
+            throw e;
+        }
+
+        for (CompanyImportMergeResult.DuplicateRow duplicate : merged.duplicates()) {
+            rejects.add(new CompanyImportReject(duplicate.lineNumber(), duplicate.careersUrl(),
+                    "Duplicate careersUrl in import (same as line " + duplicate.firstLineNumber() + ")"));
+        }
+
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Import completed: importId={}, received={}, staged={}, created={}, updated={}, skipped={}, rejected={}, elapsedMs={}",
+                importId, received, staged, merged.created(), merged.updated(), merged.skipped(), rejects.count, elapsedMs);
+
+        return new CompanyImportResponse(
+                received,
+                merged.created(),
+                merged.updated(),
+                merged.skipped(),
+                rejects.count,
+                rejects.reported,
+                rejects.count > rejects.reported.size()
+        );
+    }
+
+    // Counts every reject but keeps only the first few so a bad file cannot blow up the response
+    private static final class RejectCollector {
+        private final List<CompanyImportReject> reported = new ArrayList<>();
+        private long count;
+
+        void add(CompanyImportReject reject) {
+            count++;
+            if (reported.size() < CompanyConstants.MAX_REPORTED_IMPORT_REJECTS) {
+                reported.add(reject);
+            }
+        }
+    }
+}
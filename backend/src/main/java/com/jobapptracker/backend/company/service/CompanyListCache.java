@@ -0,0 +1,144 @@
+package com.jobapptracker.backend.company.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jobapptracker.backend.company.dto.PagedCompaniesResponse;
+import com.jobapptracker.backend.company.repository.CompanyCursor;
+import com.jobapptracker.backend.company.repository.CompanyFilter;
+import com.jobapptracker.backend.company.repository.CompanyPage;
+import com.jobapptracker.backend.company.web.MatchMode;
+import com.jobapptracker.backend.company.web.TotalMode;
+import com.jobapptracker.backend.version.listener.DataChangeEvent;
+import com.jobapptracker.backend.version.repository.DataVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Bounded (W-TinyLFU) cache of GET /api/companies responses keyed by the normalized request.
+ * Each entry is stamped with the {@link DataVersion} it was read under; a lookup only hits when the
+ * caller's version (read in the same transaction as the list query would be) is identical, so any
+ * committed write on any node, or the date rolling over, turns the entry into a miss. Entries also
+ * expire at local midnight and are dropped eagerly on change notifications to free memory.
+ * Hit ratio and evictions are exported as cache.* metrics with cache=companyList.
+ */
+@Component
+public class CompanyListCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CompanyListCache.class);
+
+    public static final String CACHE_NAME = "companyList";
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+
+    public CompanyListCache(
+            @Value("${company-list.cache.enabled:true}") boolean enabled,
+            @Value("${company-list.cache.max-entries:1000}") long maxEntries,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilMidnight())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Company list cache: enabled={}, maxEntries={}", enabled, maxEntries);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Nullable
+    public PagedCompaniesResponse get(Key key, DataVersion dataVersion) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null || !entry.dataVersion().equals(dataVersion)) {
+            return null;
+        }
+        return entry.response();
+    }
+
+    public void put(Key key, DataVersion dataVersion, PagedCompaniesResponse response) {
+        // A total that timed out is not the answer, just a late one; let the next request retry it
+        if (key.totalMode() != TotalMode.NONE && response.total() == CompanyPage.UNKNOWN_TOTAL) {
+            return;
+        }
+        cache.put(key, new Entry(dataVersion, response));
+    }
+
+    @EventListener
+    public void onDataChange(DataChangeEvent event) {
+        // Checklist rows are not part of list responses; company_tag and tag changes rewrite company's tag arrays
+        if (event.affects(DataChangeEvent.ENTITY_COMPANY)
+                || event.affects(DataChangeEvent.ENTITY_COMPANY_TAG)
+                || event.affects(DataChangeEvent.ENTITY_TAG)) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Cache key for a list request; equivalent spellings of the same filter map to the same key.
+     */
+    public static Key keyOf(CompanyFilter filter, int page, int size, @Nullable CompanyCursor after, TotalMode totalMode) {
+        String q = (filter.q() == null || filter.q().isBlank()) ? null : filter.q().trim();
+        // match only matters with q; due is ignored by the query when date is set
+        MatchMode match = (q == null) ? MatchMode.PREFIX : filter.match();
+        List<String> tagsAny = (filter.tagsAny() == null) ? List.of() : filter.tagsAny().stream().sorted().toList();
+
+        CompanyFilter normalized = new CompanyFilter(
+                q,
+                match,
+                tagsAny,
+                (filter.date() != null) ? null : filter.due(),
+                filter.date(),
+                filter.lastVisitedOn()
+        );
+        return new Key(normalized, page, size, after, totalMode);
+    }
+
+    public record Key(
+            CompanyFilter filter,
+            int page,
+            int size,
+            @Nullable CompanyCursor after,
+            TotalMode totalMode
+    ) {}
+
+    private record Entry(DataVersion dataVersion, PagedCompaniesResponse response) {}
+
+    // due=today/overdue/upcoming shift at midnight even without writes
+    private static final class UntilMidnight implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault());
+            ZonedDateTime midnight = LocalDate.from(now).plusDays(1).atStartOfDay(now.getZone());
+            return Duration.between(now, midnight).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,28 +1,59 @@
 package com.jobapptracker.backend.company.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jobapptracker.backend.company.CompanyConstants;
+import com.jobapptracker.backend.company.dto.BatchCreateItemResult;
+import com.jobapptracker.backend.company.dto.BatchCreateResponse;
 import com.jobapptracker.backend.company.dto.CompanyCreateRequest;
 import com.jobapptracker.backend.company.dto.CompanyDto;
 import com.jobapptracker.backend.company.dto.CompanyUpdateRequest;
 import com.jobapptracker.backend.company.dto.PagedCompaniesResponse;
+import com.jobapptracker.backend.company.repository.CompanyBatchRow;
+import com.jobapptracker.backend.company.repository.CompanyCursor;
+import com.jobapptracker.backend.company.repository.CompanyFilter;
+import com.jobapptracker.backend.company.repository.CompanyPage;
 import com.jobapptracker.backend.company.repository.CompanyRepository;
 import com.jobapptracker.backend.company.repository.CompanyTagUtil;
+import com.jobapptracker.backend.company.repository.CompanyWriteResult;
+import com.jobapptracker.backend.company.web.ConflictMode;
 import com.jobapptracker.backend.company.web.DueFilter;
+import com.jobapptracker.backend.company.web.MatchMode;
+import com.jobapptracker.backend.company.web.TotalMode;
 import com.jobapptracker.backend.config.DateUtils;
+import com.jobapptracker.backend.config.ExportFormat;
+import com.jobapptracker.backend.config.ExportWriter;
 import com.jobapptracker.backend.config.PaginationConstants;
 import com.jobapptracker.backend.tag.dto.TagDto;
-import com.jobapptracker.backend.tag.repository.TagRepository;
+import com.jobapptracker.backend.version.repository.DataVersion;
+import com.jobapptracker.backend.version.repository.DataVersionRepository;
+import com.jobapptracker.backend.version.repository.Versioned;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
@@ -30,22 +61,66 @@ public class CompanyService {
 
     private static final Logger log = LoggerFactory.getLogger(CompanyService.class);
 
-    private final CompanyRepository companyRepository;
-    private final TagRepository tagRepository;
+    private static final List<String> EXPORT_CSV_HEADER = List.of(
+            "companyId",
+            "companyName",
+            "careersUrl",
+            "lastVisitedOn",
+            "revisitAfterDays",
+            "nextVisitOn",
+            "tags",
+            "createdAt",
+            "updatedAt"
+    );
 
-    public CompanyService(CompanyRepository companyRepository, TagRepository tagRepository) {
+    private final CompanyRepository companyRepository;
+    private final ObjectMapper objectMapper;
+    private final CompanyListCache companyListCache;
+    private final DataVersionRepository dataVersionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean parallelTotal;
+    private final long totalTimeoutMs;
+
+    // Totals run on their own pooled connection; virtual threads make a thread per count cheap
+    private final ExecutorService totalExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CompanyService(
+            CompanyRepository companyRepository,
+            ObjectMapper objectMapper,
+            CompanyListCache companyListCache,
+            DataVersionRepository dataVersionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${company-list.parallel-total.enabled:false}") boolean parallelTotal,
+            @Value("${company-list.parallel-total.timeout-ms:500}") long totalTimeoutMs
+    ) {
         this.companyRepository = companyRepository;
-        this.tagRepository = tagRepository;
+        this.objectMapper = objectMapper;
+        this.companyListCache = companyListCache;
+        this.dataVersionRepository = dataVersionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.parallelTotal = parallelTotal;
+        this.totalTimeoutMs = totalTimeoutMs;
     }
 
-    public PagedCompaniesResponse listCompanies(
+    // Waits for in-flight totals, which their statement_timeout keeps short
+    @PreDestroy
+    void closeTotalExecutor() {
+        totalExecutor.close();
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<PagedCompaniesResponse> listCompanies(
             Integer page,
             Integer size,
             String q,
+            String matchRaw,
             String tagsCsv,
             String dueRaw,
             String dateRaw,
-            String lastVisitedOnRaw
+            String lastVisitedOnRaw,
+            String afterRaw,
+            String totalRaw
     ) {
         int p = (page == null) ? PaginationConstants.DEFAULT_PAGE : page;
         int s = (size == null) ? PaginationConstants.DEFAULT_PAGE_SIZE : size;
@@ -64,18 +139,155 @@ public class CompanyService {
             s = PaginationConstants.MAX_PAGE_SIZE;
         }
 
-        List<String> tags = parseTags(tagsCsv);
-        DueFilter due = DueFilter.fromStringOrNull(dueRaw);
-        LocalDate date = DateUtils.parseDateOrNull(dateRaw);
-        LocalDate lastVisitedOn = DateUtils.parseDateOrNull(lastVisitedOnRaw);
+        CompanyFilter filter = parseFilter(q, matchRaw, tagsCsv, dueRaw, dateRaw, lastVisitedOnRaw);
+        CompanyCursor after = CompanyCursor.decodeOrNull(afterRaw);
+        TotalMode totalMode = TotalMode.fromStringOrDefault(totalRaw);
+
+        // Fuzzy results are ranked by similarity, which the (company_name, company_id) cursor cannot seek on
+        boolean fuzzy = filter.isFuzzySearch();
+        if (fuzzy && after != null) {
+            throw new IllegalArgumentException("'after' cursor is not supported with match=fuzzy; use page instead");
+        }
+
+        // Read first and in this transaction: the version and the query see the same database, and a write
+        // committing in between only makes the body newer than the version, never older
+        DataVersion dataVersion = dataVersionRepository.current();
+        CompanyListCache.Key cacheKey = null;
+        if (companyListCache.isEnabled()) {
+            cacheKey = CompanyListCache.keyOf(filter, p, s, after, totalMode);
+            PagedCompaniesResponse cached = companyListCache.get(cacheKey, dataVersion);
+            if (cached != null) {
+                return new Versioned<>(cached, dataVersion);
+            }
+        }
+
+        PagedCompaniesResponse response = queryCompanies(p, s, filter, after, totalMode);
+        if (cacheKey != null) {
+            companyListCache.put(cacheKey, dataVersion, response);
+        }
+        return new Versioned<>(response, dataVersion);
+    }
+
+    private PagedCompaniesResponse queryCompanies(
+            int p,
+            int s,
+            CompanyFilter filter,
+            CompanyCursor after,
+            TotalMode totalMode
+    ) {
+        boolean fuzzy = filter.isFuzzySearch();
+
+        // Parallel mode: the total runs concurrently on a second connection, so the items query keeps its cheap LIMIT
+        long startedAt = System.nanoTime();
+        CompletableFuture<Long> totalFuture = (parallelTotal && totalMode != TotalMode.NONE)
+                ? CompletableFuture.supplyAsync(() -> computeTotal(filter, totalMode), totalExecutor)
+                : null;
+
+        // In page mode the exact total rides along with the items query; keyset pages only see rows past the cursor
+        boolean windowTotal = (totalFuture == null && totalMode == TotalMode.EXACT && after == null);
+
+        CompanyPage result = companyRepository.findCompanies(p, s, filter, after, windowTotal);
+        List<CompanyDto> items = result.items();
+
+        long total;
+        if (totalFuture != null) {
+            total = awaitTotal(totalFuture, startedAt);
+        } else {
+            total = switch (totalMode) {
+                case EXACT -> {
+                    if (windowTotal && !items.isEmpty()) {
+                        yield result.total();
+                    }
+                    if (windowTotal && p == 0) {
+                        yield 0L;
+                    }
+                    yield companyRepository.countCompanies(filter);
+                }
+                case ESTIMATE -> companyRepository.estimateCompanies(filter);
+                case NONE -> CompanyPage.UNKNOWN_TOTAL;
+            };
+        }
+
+        String nextCursor = (!fuzzy && items.size() == s) ? CompanyCursor.of(items.getLast()).encode() : null;
 
-        List<CompanyDto> items = companyRepository.findCompanies(p, s, q, tags, due, date, lastVisitedOn);
-        long total = companyRepository.countCompanies(q, tags, due, date, lastVisitedOn);
+        return new PagedCompaniesResponse(items, p, s, total, nextCursor);
+    }
+
+    private long computeTotal(CompanyFilter filter, TotalMode totalMode) {
+        // Own read-only transaction: routes like the request's reads and scopes the statement timeout
+        Long total = readOnlyTransaction.execute(status -> (totalMode == TotalMode.EXACT)
+                ? companyRepository.countCompanies(filter, totalTimeoutMs)
+                : companyRepository.estimateCompanies(filter));
+        return (total != null) ? total : CompanyPage.UNKNOWN_TOTAL;
+    }
 
-        return new PagedCompaniesResponse(items, p, s, total);
+    private long awaitTotal(CompletableFuture<Long> totalFuture, long startedAt) {
+        long remainingMs = totalTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        try {
+            return totalFuture.get(Math.max(remainingMs, 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Cancelling the future would not interrupt the JDBC call; the count's own statement_timeout
+            // (the same budget) ends it server-side and releases its connection
+            log.warn("Company total did not finish within {} ms; returning unknown total", totalTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Company total failed; returning unknown total: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return CompanyPage.UNKNOWN_TOTAL;
     }
 
-    private static List<String> parseTags(String tagsCsv) {
+    public CompanyFilter parseFilter(
+            String q,
+            String matchRaw,
+            String tagsCsv,
+            String dueRaw,
+            String dateRaw,
+            String lastVisitedOnRaw
+    ) {
+        return new CompanyFilter(
+                q,
+                MatchMode.fromStringOrDefault(matchRaw),
+                parseTags(tagsCsv),
+                DueFilter.fromStringOrNull(dueRaw),
+                DateUtils.parseDateOrNull(dateRaw),
+                DateUtils.parseDateOrNull(lastVisitedOnRaw)
+        );
+    }
+
+    // Deliberately not readOnly, so the export runs on the primary. A cursor held open for minutes on the
+    // replica is cancelled by recovery conflicts once it outlives max_standby_streaming_delay
+    @Transactional
+    public long exportCompanies(CompanyFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting companies: format={}", format);
+
+        try (ExportWriter<CompanyDto> writer = new ExportWriter<>(
+                out, format, objectMapper, EXPORT_CSV_HEADER, CompanyService::toCsvValues)) {
+            companyRepository.streamCompanies(filter, writer::write);
+            log.info("Company export completed: {} rows", writer.rowsWritten());
+            return writer.rowsWritten();
+        }
+    }
+
+    private static List<Object> toCsvValues(CompanyDto company) {
+        String tagNames = company.tags().stream()
+                .map(TagDto::tagName)
+                .collect(Collectors.joining(";"));
+
+        return Arrays.asList(
+                company.companyId(),
+                company.companyName(),
+                company.careersUrl(),
+                company.lastVisitedOn(),
+                company.revisitAfterDays(),
+                company.nextVisitOn(),
+                tagNames,
+                company.createdAt(),
+                company.updatedAt()
+        );
+    }
+
+    static List<String> parseTags(String tagsCsv) {
         if (tagsCsv == null || tagsCsv.isBlank()) {
             return List.of();
         }
@@ -88,7 +300,7 @@ public class CompanyService {
                 .toList();
     }
 
-    private static List<String> extractTagDisplayNames(List<TagDto> tags) {
+    static List<String> extractTagDisplayNames(List<TagDto> tags) {
         if (tags == null || tags.isEmpty()) {
             return List.of();
         }
@@ -117,10 +329,6 @@ public class CompanyService {
 
         List<String> tagNames = extractTagDisplayNames(request.tags());
 
-        if (!tagNames.isEmpty()) {
-            tagRepository.ensureTagsExist(tagNames);
-        }
-
         try {
             CompanyDto created = companyRepository.insertCompany(name, url, request.lastVisitedOn(), revisit, tagNames);
             log.info("Company created successfully: id={}, name={}", created.companyId(), created.companyName());
@@ -163,10 +371,6 @@ public class CompanyService {
 
         Integer revisit = request.revisitAfterDays();
 
-        if (tagNames != null && !tagNames.isEmpty()) {
-            tagRepository.ensureTagsExist(tagNames);
-        }
-
         try {
             CompanyDto updated = companyRepository.updateCompany(
                     companyId,
@@ -196,6 +400,69 @@ public class CompanyService {
         }
     }
 
+    @Transactional
+    public BatchCreateResponse createCompanies(List<CompanyCreateRequest> requests, String onConflictRaw) {
+        ConflictMode onConflict = ConflictMode.fromStringOrDefault(onConflictRaw);
+        log.info("Batch creating {} companies: onConflict={}", requests.size(), onConflict);
+
+        List<CompanyBatchRow> rows = new ArrayList<>(requests.size());
+        List<Integer> rowIndexes = new ArrayList<>(requests.size());
+        Map<String, Integer> firstIndexByUrl = new HashMap<>();
+        BatchCreateItemResult[] results = new BatchCreateItemResult[requests.size()];
+
+        for (int i = 0; i < requests.size(); i++) {
+            CompanyCreateRequest request = requests.get(i);
+            String url = request.careersUrl().trim();
+
+            // A statement cannot insert/update the same careers_url twice, so later repeats are skipped up front
+            Integer firstIndex = firstIndexByUrl.putIfAbsent(url, i);
+            if (firstIndex != null) {
+                results[i] = new BatchCreateItemResult(i, BatchCreateItemResult.Status.SKIPPED, null, url,
+                        "Duplicate careersUrl in batch (same as index " + firstIndex + ")");
+                continue;
+            }
+
+            rows.add(new CompanyBatchRow(
+                    request.companyName().trim(),
+                    url,
+                    request.lastVisitedOn(),
+                    request.revisitAfterDays(),
+                    (request.tags() == null) ? null : extractTagDisplayNames(request.tags())
+            ));
+            rowIndexes.add(i);
+        }
+
+        List<CompanyWriteResult> written = companyRepository.upsertCompanies(rows, onConflict == ConflictMode.UPDATE);
+
+        Map<String, CompanyWriteResult> writtenByUrl = new HashMap<>();
+        for (CompanyWriteResult result : written) {
+            writtenByUrl.put(result.careersUrl(), result);
+        }
+
+        int created = 0;
+        int updated = 0;
+        for (int r = 0; r < rows.size(); r++) {
+            int index = rowIndexes.get(r);
+            String url = rows.get(r).careersUrl();
+            CompanyWriteResult result = writtenByUrl.get(url);
+
+            if (result == null) {
+                results[index] = new BatchCreateItemResult(index, BatchCreateItemResult.Status.SKIPPED, null, url,
+                        "A company with this careers URL already exists");
+            } else if (result.inserted()) {
+                created++;
+                results[index] = new BatchCreateItemResult(index, BatchCreateItemResult.Status.CREATED, result.companyId(), url, null);
+            } else {
+                updated++;
+                results[index] = new BatchCreateItemResult(index, BatchCreateItemResult.Status.UPDATED, result.companyId(), url, null);
+            }
+        }
+
+        int skipped = requests.size() - created - updated;
+        log.info("Batch create completed: created={}, updated={}, skipped={}", created, updated, skipped);
+        return new BatchCreateResponse(created, updated, skipped, List.of(results));
+    }
+
     public void deleteCompany(UUID companyId) {
         if (companyId == null) {
             throw new IllegalArgumentException("companyId is required");
@@ -1,19 +1,33 @@
 package com.jobapptracker.backend.company.web;
 
+import com.jobapptracker.backend.company.dto.BatchCreateRequest;
+import com.jobapptracker.backend.company.dto.BatchCreateResponse;
 import com.jobapptracker.backend.company.dto.BatchDeleteRequest;
 import com.jobapptracker.backend.company.dto.BatchDeleteResponse;
 import com.jobapptracker.backend.company.dto.CompanyCreateRequest;
 import com.jobapptracker.backend.company.dto.CompanyDto;
+import com.jobapptracker.backend.company.dto.CompanyImportResponse;
 import com.jobapptracker.backend.company.dto.CompanyUpdateRequest;
 import com.jobapptracker.backend.company.dto.PagedCompaniesResponse;
+import com.jobapptracker.backend.company.repository.CompanyFilter;
+import com.jobapptracker.backend.company.repository.CompanyPage;
+import com.jobapptracker.backend.company.service.CompanyImportService;
 import com.jobapptracker.backend.company.service.CompanyService;
+import com.jobapptracker.backend.config.ConditionalGetResponses;
+import com.jobapptracker.backend.config.ExportFormat;
+import com.jobapptracker.backend.version.repository.Versioned;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 @RestController
@@ -23,9 +37,17 @@ public class CompanyController {
     private static final Logger log = LoggerFactory.getLogger(CompanyController.class);
 
     private final CompanyService companyService;
+    private final CompanyImportService companyImportService;
+    private final ConditionalGetResponses conditionalGetResponses;
 
-    public CompanyController(CompanyService service) {
+    public CompanyController(
+            CompanyService service,
+            CompanyImportService importService,
+            ConditionalGetResponses conditionalGetResponses
+    ) {
         this.companyService = service;
+        this.companyImportService = importService;
+        this.conditionalGetResponses = conditionalGetResponses;
     }
 
     @GetMapping
@@ -33,17 +55,48 @@ public class CompanyController {
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer size,
             @RequestParam(required = false) String q,
+            @RequestParam(required = false) String match,
             @RequestParam(required = false) String tags,
             @RequestParam(required = false) String due,
             @RequestParam(required = false) String date,
-            @RequestParam(required = false) String lastVisitedOn
+            @RequestParam(required = false) String lastVisitedOn,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String total
     ) {
         log.info("GET /api/companies");
-        log.debug("Listing companies: page={}, size={}, q={}, tags={}, due={}, date={}, lastVisitedOn={}",
-                page, size, q, tags, due, date, lastVisitedOn);
+        log.debug("Listing companies: page={}, size={}, q={}, match={}, tags={}, due={}, date={}, lastVisitedOn={}, after={}, total={}",
+                page, size, q, match, tags, due, date, lastVisitedOn, after, total);
         // Defaults are handled in service layer using PaginationConstants
-        PagedCompaniesResponse response = companyService.listCompanies(page, size, q, tags, due, date, lastVisitedOn);
-        return ResponseEntity.ok(response);
+        Versioned<PagedCompaniesResponse> response = companyService.listCompanies(page, size, q, match, tags, due, date, lastVisitedOn, after, total);
+        // A requested total that timed out is not a function of the data version; with total=none the
+        // total is always unknown, so that page is as cacheable as any other
+        if (TotalMode.fromStringOrDefault(total) != TotalMode.NONE && response.value().total() == CompanyPage.UNKNOWN_TOTAL) {
+            return conditionalGetResponses.uncacheable(response.value());
+        }
+        return conditionalGetResponses.ok(response);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCompanies(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String match,
+            @RequestParam(required = false) String tags,
+            @RequestParam(required = false) String due,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) String lastVisitedOn
+    ) {
+        log.info("GET /api/companies/export - format={}", format);
+        // Parse up front so bad filters fail with 400 before the response starts streaming
+        ExportFormat exportFormat = ExportFormat.fromStringOrDefault(format);
+        CompanyFilter filter = companyService.parseFilter(q, match, tags, due, date, lastVisitedOn);
+
+        StreamingResponseBody body = out -> companyService.exportCompanies(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"companies." + exportFormat.fileExtension() + "\"")
+                .body(body);
     }
 
     @PostMapping
@@ -54,6 +107,35 @@ public class CompanyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // onConflict=update overwrites the name of an existing company, and lastVisitedOn and revisitAfterDays
+    // only when the item has them. Its tags are replaced only when the item has a "tags" list ([] clears
+    // them); an item without "tags" leaves the existing links alone
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createCompanies(
+            @RequestParam(required = false) String onConflict,
+            @Valid @RequestBody BatchCreateRequest request
+    ) {
+        log.info("POST /api/companies/batch - creating {} companies, onConflict={}", request.companies().size(), onConflict);
+        BatchCreateResponse response = companyService.createCompanies(request.companies(), onConflict);
+        return ResponseEntity.ok(response);
+    }
+
+    // Same rules as /batch: onConflict=update overwrites the name, and lastVisitedOn and revisitAfterDays
+    // only when the row has them (an absent field, CSV column or blank cell keeps the stored value). Tags
+    // are replaced only when the row has them (NDJSON "tags" field, CSV tags column); an empty list clears them
+    @PostMapping("/import")
+    public ResponseEntity<CompanyImportResponse> importCompanies(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String onConflict,
+            InputStream body
+    ) throws IOException {
+        log.info("POST /api/companies/import - format={}, onConflict={}", format, onConflict);
+        ExportFormat importFormat = ExportFormat.fromStringOrDefault(format);
+        ConflictMode conflictMode = ConflictMode.fromStringOrDefault(onConflict);
+        CompanyImportResponse response = companyImportService.importCompanies(body, importFormat, conflictMode);
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{companyId}")
     public ResponseEntity<CompanyDto> updateCompany(
             @PathVariable UUID companyId,
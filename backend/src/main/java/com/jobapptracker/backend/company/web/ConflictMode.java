@@ -0,0 +1,18 @@
+package com.jobapptracker.backend.company.web;
+
+public enum ConflictMode {
+    SKIP,
+    UPDATE;
+
+    public static ConflictMode fromStringOrDefault(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return SKIP;
+        }
+
+        return switch (raw.trim().toLowerCase()) {
+            case "skip" -> SKIP;
+            case "update" -> UPDATE;
+            default -> throw new IllegalArgumentException("Invalid 'onConflict' mode. Allowed values: skip, update");
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobapptracker.backend.company.web;
+
+public enum MatchMode {
+    PREFIX,
+    CONTAINS,
+    FUZZY;
+
+    public static MatchMode fromStringOrDefault(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return PREFIX;
+        }
+
+        return switch (raw.trim().toLowerCase()) {
+            case "prefix" -> PREFIX;
+            case "contains" -> CONTAINS;
+            case "fuzzy" -> FUZZY;
+            default -> throw new IllegalArgumentException("Invalid 'match' mode. Allowed values: prefix, contains, fuzzy");
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobapptracker.backend.company.web;
+
+public enum TotalMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static TotalMode fromStringOrDefault(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return EXACT;
+        }
+
+        return switch (raw.trim().toLowerCase()) {
+            case "exact" -> EXACT;
+            case "estimate" -> ESTIMATE;
+            case "none" -> NONE;
+            default -> throw new IllegalArgumentException("Invalid 'total' mode. Allowed values: exact, estimate, none");
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.jobapptracker.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    // Streaming exports and imports hold their permit (and a connection) for minutes, so they get their
+    // own small pool instead of starving the interactive endpoints
+    private static final String[] BULK_PATH_PATTERNS = {
+            "/api/companies/export",
+            "/api/companies/import",
+            "/api/checklist/export"
+    };
+
+    private final AdmissionControlInterceptor interceptor;
+    private final AdmissionControlInterceptor bulkInterceptor;
+
+    public AdmissionControlConfig(
+            @Value("${admission.max-concurrent:0}") int maxConcurrent,
+            @Value("${admission.bulk.max-concurrent:2}") int bulkMaxConcurrent,
+            @Value("${admission.queue-timeout-ms:1000}") long queueTimeoutMs,
+            @Value("${admission.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${company-list.parallel-total.enabled:false}") boolean parallelTotal,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        int bulkPermits = Math.max(bulkMaxConcurrent, 1);
+        // Unset means one request per pooled connection left over by the bulk pool; a parallel list total holds a second one
+        int sharedConnections = Math.max(DbConfig.POOL_MAX_SIZE - bulkPermits, 1);
+        int defaultPermits = parallelTotal ? Math.max(sharedConnections / 2, 1) : sharedConnections;
+        int permits = (maxConcurrent > 0) ? maxConcurrent : defaultPermits;
+        log.info("API admission control: maxConcurrent={}, bulkMaxConcurrent={}, queueTimeoutMs={}, retryAfterSeconds={}",
+                permits, bulkPermits, queueTimeoutMs, retryAfterSeconds);
+        this.interceptor = new AdmissionControlInterceptor(
+                "api", permits, queueTimeoutMs, retryAfterSeconds, objectMapper, meterRegistry);
+        this.bulkInterceptor = new AdmissionControlInterceptor(
+                "bulk", bulkPermits, queueTimeoutMs, retryAfterSeconds, objectMapper, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns(CorsConstants.API_PATH_PATTERN)
+                .excludePathPatterns("/api/health", "/api/health/**")
+                .excludePathPatterns(BULK_PATH_PATTERNS);
+        registry.addInterceptor(bulkInterceptor)
+                .addPathPatterns(BULK_PATH_PATTERNS);
+    }
+}
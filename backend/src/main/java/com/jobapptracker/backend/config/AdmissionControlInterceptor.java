@@ -0,0 +1,162 @@
+package com.jobapptracker.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobapptracker.backend.company.web.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrently executing API requests at roughly the connection pool size. With virtual threads
+ * Tomcat no longer bounds concurrency, so without this every burst would queue inside
+ * HikariDataSource.getConnection and time out together. Excess requests wait (FIFO) up to the queue
+ * timeout for a permit, then get 503 with Retry-After instead.
+ * Runs as an interceptor rather than a filter so CORS headers are already on the 503.
+ * Each instance is one pool of permits, named by the {@code pool} tag on its meters.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+    private final int retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedCounter;
+
+    public AdmissionControlInterceptor(
+            String pool,
+            int maxConcurrent,
+            long queueTimeoutMs,
+            int retryAfterSeconds,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+
+        this.rejectedCounter = Counter.builder("jobapps.admission.rejected")
+                .description("API requests shed with 503 because no permit freed up within the queue timeout")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("jobapps.admission.in.flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("API requests currently holding an admission permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("jobapps.admission.queued", permits, Semaphore::getQueueLength)
+                .description("API requests waiting for an admission permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Async re-dispatch of a request that already holds its permit
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            log.warn("Shedding {} {}: no admission permit within {} ms", request.getMethod(), request.getRequestURI(), queueTimeoutMs);
+            writeServiceUnavailable(request, response);
+            return false;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(permits));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streaming responses keep the permit until the async work ends, however it ends
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(permit);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            permit.release();
+        }
+    }
+
+    private void writeServiceUnavailable(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "Server is at capacity, retry after " + retryAfterSeconds + " second(s)",
+                request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Released exactly once, from afterCompletion or from the async listener, whichever comes first
+    private static final class Permit implements AsyncListener {
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Permit stays held across async restarts
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.jobapptracker.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs a scheduled job on at most one node of the cluster at a time, using a session-level
+ * PostgreSQL advisory lock on the primary (no external coordinator). The lock is held on one pooled
+ * connection for the job's duration and released in finally, or by the server if the session dies.
+ * If the release fails, the connection is aborted rather than handed back to the pool still holding it.
+ * Nodes that find the lock taken skip the run instead of waiting for it.
+ * Exposes jobapps.scheduler.lock{job, result=acquired|skipped} and jobapps.scheduler.lock.held{job}.
+ */
+@Component
+public class ClusterJobLock {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterJobLock.class);
+
+    private static final String KEY_PREFIX = DatabaseConstants.SCHEMA + ":job:";
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext(?))";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext(?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, JobMeters> metersByJob = new ConcurrentHashMap<>();
+
+    public ClusterJobLock(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code task} if no other node is running {@code jobName}.
+     * Must be called outside a transaction: the lock's connection has to be a primary session of its own.
+     *
+     * @return the task's result, or empty if the run was skipped because another node holds the lock
+     */
+    public <T> Optional<T> runExclusively(String jobName, Supplier<T> task) {
+        String key = KEY_PREFIX + jobName;
+        JobMeters meters = metersByJob.computeIfAbsent(jobName, this::registerMeters);
+
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            boolean acquired;
+            try (PreparedStatement preparedStatement = connection.prepareStatement(TRY_LOCK_SQL)) {
+                preparedStatement.setString(1, key);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    acquired = resultSet.next() && resultSet.getBoolean(1);
+                }
+            }
+
+            if (!acquired) {
+                meters.skipped().increment();
+                log.info("Skipping job {}: lock is held by another node", jobName);
+                return Optional.empty();
+            }
+
+            meters.acquired().increment();
+            meters.held().set(1);
+            try {
+                return Optional.ofNullable(task.get());
+            } finally {
+                meters.held().set(0);
+                unlock(connection, key, jobName);
+            }
+        });
+    }
+
+    private static void unlock(Connection connection, String key, String jobName) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(UNLOCK_SQL)) {
+            preparedStatement.setString(1, key);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!(resultSet.next() && resultSet.getBoolean(1))) {
+                    log.warn("Lock for job {} was not held by this session when releasing it", jobName);
+                }
+            }
+        } catch (SQLException e) {
+            // The session may still be alive (e.g. the unlock was cancelled or timed out) and would go back
+            // to the pool holding the lock, blocking the job on every node; closing it drops the lock
+            log.warn("Releasing lock for job {} failed; discarding its connection: {}", jobName, e.getMessage());
+            abort(connection, jobName);
+        }
+    }
+
+    // Closes the physical connection; Hikari then sees a broken connection on close and evicts it
+    private static void abort(Connection connection, String jobName) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            log.error("Discarding the lock connection for job {} failed: {}", jobName, e.getMessage());
+        }
+    }
+
+    private JobMeters registerMeters(String jobName) {
+        AtomicInteger held = new AtomicInteger();
+        Gauge.builder("jobapps.scheduler.lock.held", held, AtomicInteger::get)
+                .description("1 while this node holds the job's cluster lock and is running it")
+                .tag("job", jobName)
+                .register(meterRegistry);
+        return new JobMeters(
+                lockCounter(jobName, "acquired"),
+                lockCounter(jobName, "skipped"),
+                held
+        );
+    }
+
+    private Counter lockCounter(String jobName, String result) {
+        return Counter.builder("jobapps.scheduler.lock")
+                .description("Scheduled job runs by cluster lock outcome")
+                .tag("job", jobName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record JobMeters(Counter acquired, Counter skipped, AtomicInteger held) {}
+}
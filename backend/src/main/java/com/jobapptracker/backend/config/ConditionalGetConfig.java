@@ -0,0 +1,50 @@
+package com.jobapptracker.backend.config;
+
+import com.jobapptracker.backend.version.repository.DataVersionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "conditional-get", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(ConditionalGetConfig.class);
+
+    // Polled read endpoints whose bodies depend only on the versioned tables and the date
+    private static final String[] VERSIONED_PATHS = {
+            "/api/companies",
+            "/api/tags",
+            "/api/checklist",
+            "/api/checklist/range",
+            "/api/meta/max-next-visit-on",
+            "/api/meta/due-histogram"
+    };
+
+    private final ConditionalGetInterceptor interceptor;
+
+    public ConditionalGetConfig(
+            ConditionalGetResponses responses,
+            DataVersionRepository dataVersionRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        String cacheControl = responses.cacheControlHeader();
+        log.info("Conditional GET enabled: paths={}, cacheControl={}", VERSIONED_PATHS, cacheControl);
+        this.interceptor = new ConditionalGetInterceptor(
+                dataVersionRepository, transactionManager, cacheControl, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Runs after admission control, so the version lookup is also bounded by the pool
+        registry.addInterceptor(interceptor)
+                .addPathPatterns(VERSIONED_PATHS)
+                .order(1);
+    }
+}
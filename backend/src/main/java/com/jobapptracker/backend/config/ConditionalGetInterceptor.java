@@ -0,0 +1,92 @@
+package com.jobapptracker.backend.config;
+
+import com.jobapptracker.backend.version.repository.DataVersion;
+import com.jobapptracker.backend.version.repository.DataVersionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers polling GETs from the data version alone: the ETag is the version plus the current date,
+ * so a matching If-None-Match gets 304 before the controller runs and no company/tag/checklist table
+ * is read. Otherwise the controller's 200 carries the ETag of the version read together with its body
+ * (see {@link ConditionalGetResponses}); this check only ever short-circuits, it never labels a body.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final DataVersionRepository dataVersionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String cacheControl;
+    private final Counter notModifiedCounter;
+    private final Counter modifiedCounter;
+
+    public ConditionalGetInterceptor(
+            DataVersionRepository dataVersionRepository,
+            PlatformTransactionManager transactionManager,
+            String cacheControl,
+            MeterRegistry meterRegistry
+    ) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheControl = cacheControl;
+
+        this.notModifiedCounter = Counter.builder("jobapps.conditional.get")
+                .description("Conditional GETs by result")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modifiedCounter = Counter.builder("jobapps.conditional.get")
+                .description("Conditional GETs by result")
+                .tag("result", "modified")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+
+        DataVersion dataVersion = readOnlyTransaction.execute(status -> dataVersionRepository.current());
+        if (dataVersion == null) {
+            return true;
+        }
+
+        // Only touch the response on a match: on a miss the controller sets ETag/Cache-Control itself
+        String etag = ConditionalGetResponses.toETag(dataVersion);
+        if (!matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            modifiedCounter.increment();
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        new ServletWebRequest(request, response).checkNotModified(etag);
+        notModifiedCounter.increment();
+        return false;
+    }
+
+    // Weak comparison, as If-None-Match requires
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(etag) || trimmed.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jobapptracker.backend.config;
+
+import com.jobapptracker.backend.version.repository.DataVersion;
+import com.jobapptracker.backend.version.repository.Versioned;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Builds the 200 responses of the versioned read endpoints. The ETag comes from the version the
+ * service read in the same transaction as the body, so a write landing between the
+ * {@link ConditionalGetInterceptor} check and the body read cannot pin a stale body to a newer ETag.
+ */
+@Component
+public class ConditionalGetResponses {
+
+    private final boolean enabled;
+    private final CacheControl cacheControl;
+
+    public ConditionalGetResponses(
+            @Value("${conditional-get.enabled:true}") boolean enabled,
+            @Value("${conditional-get.max-age-seconds:0}") long maxAgeSeconds
+    ) {
+        this.enabled = enabled;
+        // private: responses are per-user views; no-cache still stores, but revalidates every time
+        this.cacheControl = (maxAgeSeconds > 0)
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate().mustRevalidate()
+                : CacheControl.noCache().cachePrivate();
+    }
+
+    public <T> ResponseEntity<T> ok(Versioned<T> versioned) {
+        if (!enabled) {
+            return ResponseEntity.ok(versioned.value());
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(toETag(versioned.dataVersion()))
+                .body(versioned.value());
+    }
+
+    // For bodies that are not a pure function of the data version, e.g. a list whose total timed out
+    public <T> ResponseEntity<T> uncacheable(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    String cacheControlHeader() {
+        return cacheControl.getHeaderValue();
+    }
+
+    // checklist defaults to the JVM's today, the due filters to the database's; both roll the ETag
+    static String toETag(DataVersion dataVersion) {
+        LocalDate appDate = LocalDate.now();
+        String etag = dataVersion.version() + "-" + dataVersion.currentDate();
+        if (!appDate.equals(dataVersion.currentDate())) {
+            etag += "-" + appDate;
+        }
+        return "\"" + etag + "\"";
+    }
+}
@@ -14,4 +14,10 @@ public final class DatabaseConstants {
     public static final String TABLE_COMPANY_TAG = SCHEMA + ".company_tag";
     public static final String TABLE_TAG = SCHEMA + ".tag";
     public static final String TABLE_DAILY_CHECKLIST = SCHEMA + ".daily_checklist";
+    public static final String TABLE_COMPANY_IMPORT_STAGING = SCHEMA + ".company_import_staging";
+    public static final String TABLE_DATA_VERSION = SCHEMA + ".data_version";
+    public static final String TABLE_COMPANY_DUE_COUNTS = SCHEMA + ".company_due_counts";
+    public static final String TABLE_CHECKLIST_SUBMISSION = SCHEMA + ".checklist_submission";
+
+    public static final String FUNCTION_FIND_TAGS_BY_KEY = SCHEMA + ".find_tags_by_key";
 }
\ No newline at end of file
@@ -1,15 +1,24 @@
 package com.jobapptracker.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobapptracker.backend.version.listener.DataChangeListener;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
 import io.github.cdimascio.dotenv.Dotenv;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.util.Arrays;
 
 @Configuration
@@ -17,11 +26,16 @@ public class DbConfig {
 
     private static final Logger log = LoggerFactory.getLogger(DbConfig.class);
 
-    private static final int POOL_MAX_SIZE = 10;
+    static final int POOL_MAX_SIZE = 10;
     private static final int POOL_MIN_IDLE = 2;
     private static final long IDLE_TIMEOUT_MS = 300_000;
     private static final long CONNECTION_TIMEOUT_MS = 20_000;
     private static final long MAX_LIFETIME_MS = 1_200_000;
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 2_000;
+    private static final long DEFAULT_REPLICA_MAX_LAG_MS = 5_000;
+
+    private static final String PRIMARY_POOL_NAME = "JobAppTrackerPool";
+    private static final String REPLICA_POOL_NAME = "JobAppTrackerReplicaPool";
 
     private final Environment springEnv;
 
@@ -41,9 +55,61 @@ public class DbConfig {
     }
 
     @Bean
-    public DataSource dataSource() {
+    public DataSource dataSource(MeterRegistry meterRegistry, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
         log.info("Initializing database connection");
 
+        PrimaryConnection connection = resolvePrimaryConnection();
+        HikariDataSource primary = createPool(connection.jdbcUrl(), connection.user(), connection.password(),
+                PRIMARY_POOL_NAME, CONNECTION_TIMEOUT_MS, meterRegistry);
+
+        log.info("HikariCP connection pool initialized: maxPoolSize={}, minIdle={}",
+                primary.getMaximumPoolSize(), primary.getMinimumIdle());
+
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor == null) {
+            return primary;
+        }
+
+        // The lazy proxy only fetches a physical connection at the first statement, by which time a
+        // @Transactional(readOnly = true) method has marked it read-only; those go to the replica route
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, monitor));
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+
+        log.info("Read-only transactions routed to replica pool while replica lag is within {} ms", monitor.maxLagMs());
+        return routing;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(MeterRegistry meterRegistry) {
+        String jdbcUrl = require(springEnv.getProperty("datasource.replica.url"), "DB_REPLICA_URL");
+        String user = require(springEnv.getProperty("datasource.replica.username"), "DB_REPLICA_USERNAME");
+        String password = require(springEnv.getProperty("datasource.replica.password"), "DB_REPLICA_PASSWORD");
+        long maxLagMs = springEnv.getProperty("datasource.replica.max-lag-ms", Long.class, DEFAULT_REPLICA_MAX_LAG_MS);
+
+        // Short acquire timeout: a dead replica should fail fast and flip reads back to the primary
+        HikariDataSource replica = createPool(jdbcUrl, user, password, REPLICA_POOL_NAME, REPLICA_CONNECTION_TIMEOUT_MS, meterRegistry);
+
+        log.info("Replica pool initialized: maxPoolSize={}, maxLagMs={}", replica.getMaximumPoolSize(), maxLagMs);
+        return new ReplicaLagMonitor(replica, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "changes.listener", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public DataChangeListener dataChangeListener(
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        // LISTEN needs a session of its own for the node's lifetime, so it stays out of the pool
+        PrimaryConnection connection = resolvePrimaryConnection();
+        return new DataChangeListener(
+                connection.jdbcUrl(), connection.user(), connection.password(), eventPublisher, objectMapper, meterRegistry);
+    }
+
+    private PrimaryConnection resolvePrimaryConnection() {
         String jdbcUrl;
         String user;
         String password;
@@ -96,6 +162,17 @@ public class DbConfig {
                     host, port, db, schema);
         }
 
+        return new PrimaryConnection(jdbcUrl, user, password);
+    }
+
+    private static HikariDataSource createPool(
+            String jdbcUrl,
+            String user,
+            String password,
+            String poolName,
+            long connectionTimeoutMs,
+            MeterRegistry meterRegistry
+    ) {
         HikariDataSource dataSource = new HikariDataSource();
         dataSource.setDriverClassName("org.postgresql.Driver");
         dataSource.setJdbcUrl(jdbcUrl);
@@ -105,12 +182,12 @@ public class DbConfig {
         dataSource.setMaximumPoolSize(POOL_MAX_SIZE);
         dataSource.setMinimumIdle(POOL_MIN_IDLE);
         dataSource.setIdleTimeout(IDLE_TIMEOUT_MS);
-        dataSource.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
         dataSource.setMaxLifetime(MAX_LIFETIME_MS);
-        dataSource.setPoolName("JobAppTrackerPool");
+        dataSource.setPoolName(poolName);
 
-        log.info("HikariCP connection pool initialized: maxPoolSize={}, minIdle={}",
-                dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle());
+        // hikaricp.connections.{active,idle,pending,acquire,...}; must be set before the pool starts
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
 
         return dataSource;
     }
@@ -120,4 +197,7 @@ public class DbConfig {
 
         return new JdbcTemplate(dataSource);
     }
+
+    private record PrimaryConnection(String jdbcUrl, String user, String password) {
+    }
 }
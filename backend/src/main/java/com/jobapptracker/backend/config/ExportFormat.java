@@ -0,0 +1,34 @@
+package com.jobapptracker.backend.config;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public static ExportFormat fromStringOrDefault(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return CSV;
+        }
+
+        return switch (raw.trim().toLowerCase()) {
+            case "csv" -> CSV;
+            case "ndjson" -> NDJSON;
+            default -> throw new IllegalArgumentException("Invalid 'format'. Allowed values: csv, ndjson");
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.jobapptracker.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes rows one at a time as CSV or NDJSON so exports never hold more than one row in memory.
+ */
+public final class ExportWriter<T> implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final OutputStream out;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Function<T, List<Object>> csvValues;
+    private long rowsWritten;
+
+    public ExportWriter(
+            OutputStream out,
+            ExportFormat format,
+            ObjectMapper objectMapper,
+            List<String> csvHeader,
+            Function<T, List<Object>> csvValues
+    ) {
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.csvValues = csvValues;
+
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(List.copyOf(csvHeader));
+        }
+    }
+
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(csvValues.apply(row));
+            } else {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+            }
+
+            rowsWritten++;
+            if (rowsWritten % FLUSH_EVERY_ROWS == 0) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export row", e);
+        }
+    }
+
+    public long rowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+    private void writeCsvLine(List<?> values) {
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendCsvValue(line, values.get(i));
+        }
+        line.append("\r\n");
+
+        try {
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export row", e);
+        }
+    }
+
+    private static void appendCsvValue(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        boolean needsQuoting = text.indexOf(',') >= 0
+                || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0;
+
+        if (!needsQuoting) {
+            line.append(text);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,110 @@
+package com.jobapptracker.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Owns the replica pool and periodically measures replay lag on it. Reads are routed to the replica
+ * only while the last check succeeded and the lag was within the configured threshold.
+ * Registered by {@link DbConfig} only when datasource.replica.enabled=true.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    // An idle primary sends no WAL, so replay timestamp age only counts as lag while WAL is still pending replay.
+    // NULL (never replayed anything) is treated as unknown and keeps reads on the primary.
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END AS lag_ms
+            """;
+
+    private final HikariDataSource replicaDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLagMs;
+
+    private volatile boolean replicaUsable;
+    private volatile double lastLagMs = Double.NaN;
+
+    public ReplicaLagMonitor(HikariDataSource replicaDataSource, long maxLagMs, MeterRegistry meterRegistry) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagMs = maxLagMs;
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.jdbcTemplate.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+
+        Gauge.builder("jobapps.replica.lag", this, monitor -> monitor.lastLagMs / 1000.0)
+                .description("Replica replay lag at the last check (NaN when unknown)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("jobapps.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public DataSource replicaDataSource() {
+        return replicaDataSource;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long maxLagMs() {
+        return maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        Double lagMs;
+        try {
+            lagMs = jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+        } catch (DataAccessException e) {
+            lastLagMs = Double.NaN;
+            setReplicaUsable(false, "replica check failed: " + e.getMostSpecificCause().getMessage());
+            return;
+        }
+
+        if (lagMs == null) {
+            lastLagMs = Double.NaN;
+            setReplicaUsable(false, "replica has not replayed any transaction yet");
+            return;
+        }
+
+        lastLagMs = lagMs;
+        if (lagMs > maxLagMs) {
+            setReplicaUsable(false, "replica lag " + Math.round(lagMs) + " ms exceeds " + maxLagMs + " ms");
+        } else {
+            setReplicaUsable(true, "replica lag " + Math.round(lagMs) + " ms");
+        }
+    }
+
+    // Logs transitions only; the check runs every few seconds
+    private void setReplicaUsable(boolean usable, String reason) {
+        if (replicaUsable != usable) {
+            if (usable) {
+                log.info("Routing read-only transactions to replica ({})", reason);
+            } else {
+                log.warn("Routing read-only transactions to primary ({})", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    @Override
+    public void close() {
+        replicaDataSource.close();
+    }
+}
@@ -0,0 +1,36 @@
+package com.jobapptracker.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read-only connection source: the replica while {@link ReplicaLagMonitor} reports it usable,
+ * the primary otherwise (replica down, lagging past the threshold, or not checked yet).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(
+                Route.PRIMARY, primary,
+                Route.REPLICA, lagMonitor.replicaDataSource()
+        ));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagMonitor.isReplicaUsable() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
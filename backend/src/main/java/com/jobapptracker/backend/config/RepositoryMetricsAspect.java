@@ -0,0 +1,88 @@
+package com.jobapptracker.backend.config;
+
+import com.jobapptracker.backend.company.repository.CompanyPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of a {@code @Repository} bean and records how many rows list-style
+ * results carried. Percentiles and histogram buckets are configured under
+ * {@code management.metrics.distribution} in application.yml.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    public static final String CALLS_METRIC = "jobapps.repository.calls";
+    public static final String ROWS_METRIC = "jobapps.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    // Builder lookups allocate on every call; cache meters per repository method and outcome
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Repository) && execution(public * *(..))")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+
+            int rows = rowCount(result);
+            if (rows >= 0) {
+                rowSummary(repository, method).record(rows);
+            }
+            return result;
+        } finally {
+            timer(repository, method, outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return timers.computeIfAbsent(repository + '.' + method + ':' + outcome, key -> Timer.builder(CALLS_METRIC)
+                .description("Repository method latency")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private DistributionSummary rowSummary(String repository, String method) {
+        return rowSummaries.computeIfAbsent(repository + '.' + method, key -> DistributionSummary.builder(ROWS_METRIC)
+                .description("Rows returned by repository methods that return row lists")
+                .baseUnit("rows")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry));
+    }
+
+    // -1 means the result is not a row list (counts, single rows, void), so no sample is recorded
+    private static int rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof CompanyPage page) {
+            return page.items().size();
+        }
+        return -1;
+    }
+}
@@ -8,6 +8,7 @@ public final class SqlFragments {
         throw new UnsupportedOperationException("Utility class");
     }
 
+    // tag_keys/tag_names are trigger-maintained on company (see V3 migration), ordered by tag_name
     private static final List<String> COMPANY_COLUMNS = List.of(
             "company.company_id",
             "company.company_name",
@@ -16,35 +17,34 @@ public final class SqlFragments {
             "company.revisit_after_days",
             "company.next_visit_on",
             "company.created_at",
-            "company.updated_at"
+            "company.updated_at",
+            "company.tag_keys",
+            "company.tag_names"
     );
 
-    private static final String TAG_AGGREGATIONS = """
-                COALESCE(
-                    array_agg(t.tag_key ORDER BY t.tag_name)
-                        FILTER (WHERE t.tag_id IS NOT NULL),
-                    '{}'::text[]
-                ) AS tag_keys,
-                COALESCE(
-                    array_agg(t.tag_name ORDER BY t.tag_name)
-                        FILTER (WHERE t.tag_id IS NOT NULL),
-                    '{}'::text[]
-                ) AS tag_names""";
-
     public static final String SELECT_COMPANY_WITH_TAGS =
-            String.join(",\n            ", COMPANY_COLUMNS) + ",\n" + TAG_AGGREGATIONS;
-
-    public static final String FROM_COMPANY_WITH_TAGS = """
-            FROM %s company
-            LEFT JOIN %s ct ON ct.company_id = company.company_id
-            LEFT JOIN %s t ON t.tag_id = ct.tag_id""".formatted(
-            DatabaseConstants.TABLE_COMPANY_TRACKING,
-            DatabaseConstants.TABLE_COMPANY_TAG,
-            DatabaseConstants.TABLE_TAG
-    );
+            String.join(",\n            ", COMPANY_COLUMNS);
+
+    public static final String FROM_COMPANY =
+            "FROM " + DatabaseConstants.TABLE_COMPANY_TRACKING + " company";
 
-    public static final String GROUP_BY_COMPANY =
-            " GROUP BY " + String.join(", ", COMPANY_COLUMNS);
+    public static final String WINDOW_TOTAL_COUNT = "COUNT(*) OVER () AS total_count";
 
     public static final String ORDER_BY_COMPANY_NAME = " ORDER BY company.company_name ASC ";
-}
\ No newline at end of file
+
+    public static final String ORDER_BY_COMPANY_NAME_ID = " ORDER BY company.company_name ASC, company.company_id ASC ";
+
+    // pg_trgm may live in any schema (see V4 migration); its operator and function are qualified with that
+    // schema so they match the index opclass regardless of search_path
+    public static String trgmSimilarOperator(String trgmSchema) {
+        return "OPERATOR(" + quoteIdentifier(trgmSchema) + ".%)";
+    }
+
+    public static String trgmSimilarity(String trgmSchema) {
+        return quoteIdentifier(trgmSchema) + ".similarity";
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
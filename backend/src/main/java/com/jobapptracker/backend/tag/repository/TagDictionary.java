@@ -0,0 +1,65 @@
+package com.jobapptracker.backend.tag.repository;
+
+import com.jobapptracker.backend.tag.dto.TagDto;
+import com.jobapptracker.backend.version.repository.DataVersion;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the tag table, tagged with the cache version it was loaded under and the
+ * data version read just before it. Entries must be given in display order (ORDER BY tag_name).
+ */
+final class TagDictionary {
+
+    record Entry(UUID tagId, String tagKey, String tagName) {}
+
+    private final long version;
+    private final long loadedAtMillis;
+    private final DataVersion dataVersion;
+    private final Map<String, Entry> byKey;
+    private final List<TagDto> sortedByName;
+
+    TagDictionary(long version, long loadedAtMillis, DataVersion dataVersion, List<Entry> entries) {
+        this.version = version;
+        this.loadedAtMillis = loadedAtMillis;
+        this.dataVersion = dataVersion;
+
+        Map<String, Entry> map = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            map.put(entry.tagKey(), entry);
+        }
+        this.byKey = Map.copyOf(map);
+
+        // Keeps the load query's ORDER BY tag_name, i.e. the database collation GET /api/tags always used
+        this.sortedByName = entries.stream()
+                .map(entry -> new TagDto(entry.tagKey(), entry.tagName()))
+                .toList();
+    }
+
+    long version() {
+        return version;
+    }
+
+    long loadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    DataVersion dataVersion() {
+        return dataVersion;
+    }
+
+    Entry get(String tagKey) {
+        return byKey.get(tagKey);
+    }
+
+    boolean contains(String tagKey) {
+        return byKey.containsKey(tagKey);
+    }
+
+    List<TagDto> sortedByName() {
+        return sortedByName;
+    }
+}
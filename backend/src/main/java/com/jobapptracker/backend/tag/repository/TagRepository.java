@@ -1,66 +1,126 @@
 package com.jobapptracker.backend.tag.repository;
 
-import com.jobapptracker.backend.company.repository.CompanyTagUtil;
 import com.jobapptracker.backend.config.DatabaseConstants;
 import com.jobapptracker.backend.tag.dto.TagDto;
+import com.jobapptracker.backend.version.repository.DataVersion;
+import com.jobapptracker.backend.version.repository.DataVersionRepository;
+import com.jobapptracker.backend.version.repository.Versioned;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Repository
 public class TagRepository {
 
     private static final Logger log = LoggerFactory.getLogger(TagRepository.class);
 
+    // Safety net for when the change listener is disabled or a notification is lost
+    private static final long DICTIONARY_MAX_AGE_MS = 300_000;
+
     private final JdbcTemplate jdbcTemplate;
+    private final DataVersionRepository dataVersionRepository;
+
+    private final AtomicLong dictionaryVersion = new AtomicLong();
+    private volatile TagDictionary dictionary;
 
-    public TagRepository(JdbcTemplate template) {
+    public TagRepository(JdbcTemplate template, DataVersionRepository dataVersionRepository) {
         this.jdbcTemplate = template;
+        this.dataVersionRepository = dataVersionRepository;
     }
 
-    public List<TagDto> listAll() {
+    // The body only changes with the tag table, so it carries the current version (and thus the ETag the
+    // conditional GET check compares against) while no tag write has landed since the dictionary loaded.
+    // The version is read first: a dictionary that is not older than it can only be newer than the ETag
+    public Versioned<List<TagDto>> listAll() {
+        DataVersion dataVersion = dataVersionRepository.current();
+        TagDictionary current = dictionary();
+        if (current.dataVersion().tagVersion() < dataVersion.tagVersion()) {
+            invalidate(); // a tag write whose change notification has not arrived yet
+            current = dictionary();
+        }
+        return new Versioned<>(current.sortedByName(), dataVersion);
+    }
 
-        String sqlQuery = """
-            SELECT tag_key, tag_name
-            FROM %s
-            ORDER BY tag_name ASC
-        """.formatted(DatabaseConstants.TABLE_TAG);
+    public List<String> filterUnknownKeys(List<String> tagKeys) {
+        if (tagKeys == null || tagKeys.isEmpty()) {
+            return List.of();
+        }
 
-        return jdbcTemplate.query(sqlQuery, (resultSet, rowNum) ->
-                new TagDto(
-                        resultSet.getString("tag_key"),
-                        resultSet.getString("tag_name")
-                )
-        );
+        TagDictionary current = dictionary();
+        return tagKeys.stream()
+                .filter(key -> !current.contains(key))
+                .toList();
+    }
+
+    public void invalidate() {
+        dictionaryVersion.incrementAndGet();
+        dictionary = null;
     }
 
-    public void ensureTagsExist(List<String> tagDisplayNames) {
-        if (tagDisplayNames == null || tagDisplayNames.isEmpty()) {
+    public void markTagsWritten() {
+        invalidate();
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || hasPendingTagWrites()) {
             return;
         }
 
-        log.debug("Ensuring {} tags exist in database", tagDisplayNames.size());
+        // Uncommitted tags must not be published to other threads, so this transaction stops caching
+        // and the dictionary is dropped again once it commits or rolls back
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TagRepository.this);
+                invalidate();
+            }
+        });
+    }
+
+    private boolean hasPendingTagWrites() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
 
+    private TagDictionary dictionary() {
+        long version = dictionaryVersion.get();
+        TagDictionary current = dictionary;
+        if (current != null
+                && current.version() == version
+                && System.currentTimeMillis() - current.loadedAtMillis() < DICTIONARY_MAX_AGE_MS) {
+            return current;
+        }
+
+        TagDictionary loaded = loadDictionary(version);
+        // A concurrent invalidate() bumps the version, so this snapshot is simply reloaded on the next read
+        if (dictionaryVersion.get() == version && !hasPendingTagWrites()) {
+            dictionary = loaded;
+        }
+        return loaded;
+    }
+
+    private TagDictionary loadDictionary(long version) {
         String sqlQuery = """
-            INSERT INTO %s (tag_key, tag_name)
-            VALUES (?, ?)
-            ON CONFLICT (tag_key) DO NOTHING
+            SELECT tag_id, tag_key, tag_name
+            FROM %s
+            ORDER BY tag_name
         """.formatted(DatabaseConstants.TABLE_TAG);
 
-        jdbcTemplate.batchUpdate(
-                sqlQuery,
-                tagDisplayNames,
-                DatabaseConstants.BATCH_SIZE,
-                (prepareStatement, displayName) -> {
-                    String key = CompanyTagUtil.toTagKey(displayName);
-                    prepareStatement.setString(1, key);
-                    prepareStatement.setString(2, displayName);
-                }
+        // Read before the tags, so a tag write committing in between leaves the snapshot newer than its version
+        DataVersion dataVersion = dataVersionRepository.current();
+        List<TagDictionary.Entry> entries = jdbcTemplate.query(sqlQuery, (resultSet, rowNum) ->
+                new TagDictionary.Entry(
+                        resultSet.getObject("tag_id", UUID.class),
+                        resultSet.getString("tag_key"),
+                        resultSet.getString("tag_name")
+                )
         );
 
-        log.debug("Tags ensured successfully in database: {} tags processed", tagDisplayNames.size());
+        log.debug("Loaded tag dictionary: version={}, tags={}", version, entries.size());
+        return new TagDictionary(version, System.currentTimeMillis(), dataVersion, entries);
     }
 }
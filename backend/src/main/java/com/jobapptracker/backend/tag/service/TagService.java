@@ -2,6 +2,9 @@ package com.jobapptracker.backend.tag.service;
 
 import com.jobapptracker.backend.tag.dto.TagDto;
 import com.jobapptracker.backend.tag.repository.TagRepository;
+import com.jobapptracker.backend.version.listener.DataChangeEvent;
+import com.jobapptracker.backend.version.repository.Versioned;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,7 +18,15 @@ public class TagService {
         this.tagRepository = repository;
     }
 
-    public List<TagDto> listAll() {
+    public Versioned<List<TagDto>> listAll() {
         return tagRepository.listAll();
     }
+
+    // Tags written on other nodes (or by hand) reach this node's dictionary through the change listener
+    @EventListener
+    public void onDataChange(DataChangeEvent event) {
+        if (event.affects(DataChangeEvent.ENTITY_TAG)) {
+            tagRepository.invalidate();
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.jobapptracker.backend.tag.web;
 
+import com.jobapptracker.backend.config.ConditionalGetResponses;
 import com.jobapptracker.backend.tag.dto.TagDto;
 import com.jobapptracker.backend.tag.service.TagService;
 import org.slf4j.Logger;
@@ -16,14 +17,16 @@ public class TagController {
     private static final Logger log = LoggerFactory.getLogger(TagController.class);
 
     private final TagService tagService;
+    private final ConditionalGetResponses conditionalGetResponses;
 
-    public TagController(TagService service) {
+    public TagController(TagService service, ConditionalGetResponses conditionalGetResponses) {
         this.tagService = service;
+        this.conditionalGetResponses = conditionalGetResponses;
     }
 
     @GetMapping
     public ResponseEntity<List<TagDto>> listTags() {
         log.info("GET /api/tags - listing all tags");
-        return ResponseEntity.ok(tagService.listAll());
+        return conditionalGetResponses.ok(tagService.listAll());
     }
 }
@@ -0,0 +1,28 @@
+package com.jobapptracker.backend.version.listener;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Published on every node when a table behind an in-process cache changed. A null entity means
+ * "anything may have changed" (listener (re)connected, dropped, or got an unreadable payload)
+ * and every cache must be flushed.
+ */
+public record DataChangeEvent(@Nullable String entity, @Nullable String op) {
+
+    public static final String ENTITY_COMPANY = "company";
+    public static final String ENTITY_TAG = "tag";
+    public static final String ENTITY_COMPANY_TAG = "company_tag";
+    public static final String ENTITY_DAILY_CHECKLIST = "daily_checklist";
+
+    public static DataChangeEvent flushAll() {
+        return new DataChangeEvent(null, null);
+    }
+
+    public boolean isFlushAll() {
+        return entity == null;
+    }
+
+    public boolean affects(String cachedEntity) {
+        return entity == null || entity.equals(cachedEntity);
+    }
+}
@@ -0,0 +1,241 @@
+package com.jobapptracker.backend.version.listener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one dedicated (non-pooled) connection to the primary that LISTENs on {@link #CHANNEL} and
+ * republishes each notification as a {@link DataChangeEvent}. Caches are flushed whenever the
+ * listener connects or loses its connection, since changes made in between were never heard.
+ * Registered by DbConfig unless changes.listener.enabled=false.
+ */
+public class DataChangeListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DataChangeListener.class);
+
+    public static final String CHANNEL = "jobapps_changes";
+
+    private static final int POLL_TIMEOUT_MS = 1_000;
+    private static final long KEEPALIVE_INTERVAL_MS = 30_000;
+    private static final int KEEPALIVE_QUERY_TIMEOUT_SECONDS = 5;
+    private static final long INITIAL_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long STOP_TIMEOUT_MS = 5_000;
+
+    private final String jdbcUrl;
+    private final Properties connectionProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Counter flushCounter;
+    private final Map<String, Counter> receivedCounters = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public DataChangeListener(
+            String jdbcUrl,
+            String user,
+            String password,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcUrl = jdbcUrl;
+        this.connectionProperties = new Properties();
+        this.connectionProperties.setProperty("user", user);
+        this.connectionProperties.setProperty("password", password);
+        this.connectionProperties.setProperty("ApplicationName", "jobapps-change-listener");
+        this.connectionProperties.setProperty("tcpKeepAlive", "true");
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.flushCounter = Counter.builder("jobapps.changes.flushes")
+                .description("Full cache flushes caused by the change listener connecting or dropping")
+                .register(meterRegistry);
+        Gauge.builder("jobapps.changes.listener.connected", this, listener -> listener.connected ? 1 : 0)
+                .description("1 while the LISTEN connection is up and change notifications are being received")
+                .register(meterRegistry);
+    }
+
+    /**
+     * False while no notifications can arrive; caches should not trust entries filled during that time.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform()
+                .name("jobapps-change-listener")
+                .daemon(true)
+                .start(this::listenLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeQuietly(connection);
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        while (running) {
+            try (Connection listenConnection = DriverManager.getConnection(jdbcUrl, connectionProperties)) {
+                connection = listenConnection;
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                connected = true;
+                backoffMs = INITIAL_BACKOFF_MS;
+                log.info("Listening for data changes on channel {}", CHANNEL);
+
+                // Writes made before LISTEN took effect were never heard; start from empty caches
+                publishFlush();
+                receive(listenConnection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Data change listener connection failed, retrying in {} ms: {}", backoffMs, e.getMessage());
+                }
+            } finally {
+                connection = null;
+                if (connected) {
+                    connected = false;
+                    // Changes made while disconnected will never be delivered
+                    publishFlush();
+                }
+            }
+
+            if (running) {
+                sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+        log.info("Data change listener stopped");
+    }
+
+    private void receive(Connection listenConnection) throws SQLException {
+        PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+        long lastActivityAt = System.currentTimeMillis();
+
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+            if (notifications != null && notifications.length > 0) {
+                lastActivityAt = System.currentTimeMillis();
+                for (PGNotification notification : notifications) {
+                    publish(toEvent(notification.getParameter()));
+                }
+            } else if (System.currentTimeMillis() - lastActivityAt >= KEEPALIVE_INTERVAL_MS) {
+                // A half-open TCP connection never errors on its own; a round trip surfaces it
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.setQueryTimeout(KEEPALIVE_QUERY_TIMEOUT_SECONDS);
+                    statement.execute("SELECT 1");
+                }
+                lastActivityAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private DataChangeEvent toEvent(String payload) {
+        try {
+            JsonNode json = objectMapper.readTree(payload);
+            String entity = json.path("entity").asText(null);
+            if (entity == null) {
+                log.warn("Change notification without entity, flushing all caches: {}", payload);
+                return DataChangeEvent.flushAll();
+            }
+            return new DataChangeEvent(entity, json.path("op").asText(null));
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable change notification, flushing all caches: {}", payload);
+            return DataChangeEvent.flushAll();
+        }
+    }
+
+    private void publish(DataChangeEvent event) {
+        if (event.isFlushAll()) {
+            publishFlush();
+            return;
+        }
+
+        receivedCounters.computeIfAbsent(event.entity(), entity -> Counter.builder("jobapps.changes.received")
+                        .description("Change notifications received, by changed table")
+                        .tag("entity", entity)
+                        .register(meterRegistry))
+                .increment();
+        log.debug("Data change received: entity={}, op={}", event.entity(), event.op());
+        publishSafely(event);
+    }
+
+    private void publishFlush() {
+        flushCounter.increment();
+        publishSafely(DataChangeEvent.flushAll());
+    }
+
+    // A failing cache listener must not take the LISTEN connection down with it
+    private void publishSafely(DataChangeEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.error("Data change handler failed: event={}", event, e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing data change listener connection failed: {}", e.getMessage());
+        }
+    }
+}
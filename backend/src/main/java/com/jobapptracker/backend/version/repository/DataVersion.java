@@ -0,0 +1,11 @@
+package com.jobapptracker.backend.version.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Snapshot of the data version counter together with the database's current date: responses that
+ * filter on CURRENT_DATE (due=today, overdue) change at midnight without any write.
+ * {@code tagVersion} counts only tag table writes and is part of {@code version}; it is not in the ETag.
+ */
+public record DataVersion(long version, long tagVersion, LocalDate currentDate) {
+}
@@ -0,0 +1,33 @@
+package com.jobapptracker.backend.version.repository;
+
+import com.jobapptracker.backend.config.DatabaseConstants;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public class DataVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sum of the per-slot counters bumped by the V6 triggers (tag_version: tag writes only);
+     * only ever grows, and a write's bump becomes visible in the same commit as the write itself.
+     */
+    public DataVersion current() {
+        return jdbcTemplate.queryForObject(
+                "SELECT SUM(version) AS version, SUM(tag_version) AS tag_version, CURRENT_DATE AS today FROM "
+                        + DatabaseConstants.TABLE_DATA_VERSION,
+                (rs, rowNum) -> new DataVersion(
+                        rs.getLong("version"),
+                        rs.getLong("tag_version"),
+                        rs.getObject("today", LocalDate.class)
+                )
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.jobapptracker.backend.version.repository;
+
+/**
+ * A read result together with the {@link DataVersion} read just before it on the same connection, so
+ * an ETag built from the version can only ever be older than the body, never newer.
+ */
+public record Versioned<T>(T value, DataVersion dataVersion) {
+}
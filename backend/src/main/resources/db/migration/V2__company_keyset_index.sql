@@ -0,0 +1,8 @@
+-- ================================
+-- Keyset pagination for company listing
+-- ================================
+
+CREATE INDEX idx_company_company_name_company_id
+    ON jobapps.company (company_name, company_id);
+
+DROP INDEX IF EXISTS jobapps.idx_company_company_name;
@@ -0,0 +1,159 @@
+-- ================================
+-- Denormalized tag arrays on company
+-- Maintained by triggers on company_tag and tag so reads need no join/GROUP BY
+-- Array refreshes are bookkeeping, not edits: they do not move company.updated_at
+-- ================================
+
+ALTER TABLE jobapps.company
+    ADD COLUMN tag_keys TEXT[] NOT NULL DEFAULT '{}',
+    ADD COLUMN tag_names TEXT[] NOT NULL DEFAULT '{}';
+
+-- ================================
+-- Functions
+-- ================================
+
+-- Both arrays are ordered by tag_name so they stay index-aligned for the row mappers.
+-- Only writes rows whose arrays actually change, and only those two columns
+CREATE OR REPLACE FUNCTION jobapps.refresh_company_tag_arrays(p_company_ids UUID[])
+RETURNS void
+LANGUAGE plpgsql
+AS $$
+BEGIN
+UPDATE jobapps.company company
+SET
+    tag_keys = agg.tag_keys,
+    tag_names = agg.tag_names
+    FROM (
+        SELECT
+            ids.company_id,
+            COALESCE(array_agg(t.tag_key ORDER BY t.tag_name) FILTER (WHERE t.tag_id IS NOT NULL), '{}'::text[]) AS tag_keys,
+            COALESCE(array_agg(t.tag_name ORDER BY t.tag_name) FILTER (WHERE t.tag_id IS NOT NULL), '{}'::text[]) AS tag_names
+        FROM unnest(p_company_ids) AS ids(company_id)
+        LEFT JOIN jobapps.company_tag ct ON ct.company_id = ids.company_id
+        LEFT JOIN jobapps.tag t ON t.tag_id = ct.tag_id
+        GROUP BY ids.company_id
+    ) agg
+WHERE company.company_id = agg.company_id
+  AND (company.tag_keys IS DISTINCT FROM agg.tag_keys
+    OR company.tag_names IS DISTINCT FROM agg.tag_names);
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobapps.company_tag_after_insert()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.refresh_company_tag_arrays(ARRAY(SELECT DISTINCT company_id FROM new_rows));
+RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobapps.company_tag_after_delete()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.refresh_company_tag_arrays(ARRAY(SELECT DISTINCT company_id FROM old_rows));
+RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobapps.company_tag_after_update()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.refresh_company_tag_arrays(ARRAY(
+      SELECT company_id FROM old_rows
+      UNION
+      SELECT company_id FROM new_rows
+  ));
+RETURN NULL;
+END;
+$$;
+
+-- tag_key is the conflict target and never changes, so only a rename (tag_name) reaches company rows;
+-- updates that only touch updated_at (or rewrite the same name) refresh nothing
+CREATE OR REPLACE FUNCTION jobapps.tag_after_update()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.refresh_company_tag_arrays(ARRAY(
+      SELECT DISTINCT ct.company_id
+      FROM new_rows
+      JOIN old_rows ON old_rows.tag_id = new_rows.tag_id
+      JOIN jobapps.company_tag ct ON ct.tag_id = new_rows.tag_id
+      WHERE old_rows.tag_name IS DISTINCT FROM new_rows.tag_name
+         OR old_rows.tag_key IS DISTINCT FROM new_rows.tag_key
+  ));
+RETURN NULL;
+END;
+$$;
+
+-- Tag lookup with a fresh snapshot. Company writes insert unknown tags with ON CONFLICT DO NOTHING and
+-- resolve the keys that were not returned through this function. A tag committed by a concurrent writer
+-- after the statement started is invisible to the statement's own snapshot, but a VOLATILE function takes
+-- a new snapshot per call (READ COMMITTED), and DO NOTHING has already waited for that writer to finish.
+-- VOLATILE on purpose: it must not be inlined into, or share the snapshot of, the calling statement
+CREATE OR REPLACE FUNCTION jobapps.find_tags_by_key(p_tag_keys TEXT[])
+RETURNS TABLE (tag_id UUID, tag_key TEXT, tag_name TEXT)
+LANGUAGE sql
+VOLATILE
+AS $$
+SELECT tag.tag_id, tag.tag_key, tag.tag_name
+FROM jobapps.tag tag
+WHERE tag.tag_key = ANY(p_tag_keys);
+$$;
+
+-- ================================
+-- Triggers
+-- ================================
+
+CREATE TRIGGER trg_company_tag_after_insert
+    AFTER INSERT ON jobapps.company_tag
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_tag_after_insert();
+
+CREATE TRIGGER trg_company_tag_after_delete
+    AFTER DELETE ON jobapps.company_tag
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_tag_after_delete();
+
+CREATE TRIGGER trg_company_tag_after_update
+    AFTER UPDATE ON jobapps.company_tag
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_tag_after_update();
+
+CREATE TRIGGER trg_tag_after_update
+    AFTER UPDATE ON jobapps.tag
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.tag_after_update();
+
+-- The baseline trigger stamps updated_at on every company UPDATE; the refresh above is the only
+-- statement that changes the arrays, and it never touches the user-visible columns
+DROP TRIGGER trg_company_updated_at ON jobapps.company;
+
+CREATE TRIGGER trg_company_updated_at
+    BEFORE UPDATE ON jobapps.company
+    FOR EACH ROW
+    WHEN (OLD.tag_keys IS NOT DISTINCT FROM NEW.tag_keys AND OLD.tag_names IS NOT DISTINCT FROM NEW.tag_names)
+    EXECUTE FUNCTION jobapps.set_updated_at();
+
+-- ================================
+-- Backfill
+-- ================================
+
+SELECT jobapps.refresh_company_tag_arrays(ARRAY(SELECT company_id FROM jobapps.company));
+
+-- ================================
+-- Indexes
+-- ================================
+
+CREATE INDEX idx_company_tag_keys
+    ON jobapps.company USING GIN (tag_keys);
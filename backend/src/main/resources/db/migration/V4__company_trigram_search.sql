@@ -0,0 +1,33 @@
+-- ================================
+-- Trigram search on company name and careers URL
+-- Serves case-insensitive prefix/substring ILIKE and similarity (%) matching
+-- pg_trgm is created in jobapps when missing; an existing install (often in public) is used where it is,
+-- so the opclass is qualified with the schema looked up here. CompanyRepository resolves the same schema
+-- at startup for the % operator and similarity().
+-- ================================
+
+DO $$
+DECLARE
+    trgm_schema TEXT;
+BEGIN
+    SELECT namespace.nspname
+    INTO trgm_schema
+    FROM pg_extension extension
+    JOIN pg_namespace namespace ON namespace.oid = extension.extnamespace
+    WHERE extension.extname = 'pg_trgm';
+
+    IF trgm_schema IS NULL THEN
+        CREATE EXTENSION pg_trgm SCHEMA jobapps;
+        trgm_schema := 'jobapps';
+    END IF;
+
+    EXECUTE format(
+        'CREATE INDEX idx_company_company_name_trgm ON jobapps.company USING GIN (company_name %I.gin_trgm_ops)',
+        trgm_schema
+    );
+    EXECUTE format(
+        'CREATE INDEX idx_company_careers_url_trgm ON jobapps.company USING GIN (careers_url %I.gin_trgm_ops)',
+        trgm_schema
+    );
+END;
+$$;
@@ -0,0 +1,25 @@
+-- ================================
+-- Staging table for bulk company imports
+-- Rows are COPYed in per import, merged set-based into company/tag/company_tag, then deleted.
+-- UNLOGGED: skips WAL for the transient rows; contents are lost on crash, which only aborts in-flight imports
+-- ================================
+
+CREATE UNLOGGED TABLE jobapps.company_import_staging (
+    import_id UUID NOT NULL,
+    line_no BIGINT NOT NULL,
+    company_name TEXT NOT NULL,
+    careers_url TEXT NOT NULL,
+    -- NULL when the row omits them: an updated company keeps its value, a new one gets the default
+    last_visited_on DATE,
+    revisit_after_days INT,
+    -- false when the row has no tags field or column: an updated company keeps its links
+    replace_tags BOOLEAN NOT NULL,
+    tag_keys TEXT[] NOT NULL DEFAULT '{}',
+    tag_names TEXT[] NOT NULL DEFAULT '{}',
+    -- Filled in by the merge: the written company and whether it was newly inserted
+    company_id UUID,
+    inserted BOOLEAN
+);
+
+CREATE INDEX idx_company_import_staging_url
+    ON jobapps.company_import_staging (import_id, careers_url);
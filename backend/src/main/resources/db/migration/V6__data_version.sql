@@ -0,0 +1,165 @@
+-- ================================
+-- Data version for HTTP conditional GETs
+-- Every write statement on company, tag, company_tag or daily_checklist bumps one of a few slots;
+-- SUM(version) over the slots only moves forward and becomes visible atomically with the write's commit.
+-- The slot's row lock is held until commit, so each transaction takes a slot no other open transaction
+-- holds (SKIP LOCKED, starting from its backend pid) and keeps it for the rest of the transaction:
+-- a long import or checklist submit only occupies its own slot, and short writers pass it by.
+-- Writers queue only when all 16 slots are held by open transactions.
+-- Statements that changed no rows (e.g. a zero-row DML CTE) do not bump.
+-- tag_version counts tag table writes only: GET /api/tags serves a cached dictionary and labels it with the
+-- current version as long as SUM(tag_version) has not moved since it was loaded. It is bumped on the same
+-- slot, so tag writers take no extra lock.
+-- ================================
+
+CREATE TABLE jobapps.data_version (
+    slot SMALLINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    tag_version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_data_version PRIMARY KEY (slot)
+);
+
+INSERT INTO jobapps.data_version (slot)
+SELECT generate_series(0, 15);
+
+-- ================================
+-- Functions
+-- ================================
+
+CREATE OR REPLACE FUNCTION jobapps.bump_data_version()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_slot SMALLINT;
+BEGIN
+  -- Statement-level triggers fire even when nothing matched; the transition tables tell
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    IF NOT EXISTS (SELECT 1 FROM new_rows) THEN
+      RETURN NULL;
+    END IF;
+  ELSIF TG_OP = 'DELETE' THEN
+    IF NOT EXISTS (SELECT 1 FROM old_rows) THEN
+      RETURN NULL;
+    END IF;
+  END IF;
+
+  -- Transaction-local, so later bumps in the same transaction reuse the slot it already holds
+  v_slot := nullif(current_setting('jobapps.data_version_slot', true), '')::SMALLINT;
+
+  IF v_slot IS NULL THEN
+    SELECT slot
+    INTO v_slot
+    FROM jobapps.data_version
+    ORDER BY (slot - pg_backend_pid() % 16 + 16) % 16
+    LIMIT 1
+    FOR UPDATE SKIP LOCKED;
+
+    -- Every slot is held by an open transaction: queue on the pid slot
+    v_slot := coalesce(v_slot, pg_backend_pid() % 16);
+    PERFORM set_config('jobapps.data_version_slot', v_slot::TEXT, true);
+  END IF;
+
+  UPDATE jobapps.data_version
+  SET version = version + 1,
+      tag_version = tag_version + CASE WHEN TG_TABLE_NAME = 'tag' THEN 1 ELSE 0 END
+  WHERE slot = v_slot;
+RETURN NULL;
+END;
+$$;
+
+-- ================================
+-- Triggers
+-- ================================
+
+CREATE TRIGGER trg_company_bump_data_version_after_insert
+    AFTER INSERT ON jobapps.company
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_bump_data_version_after_update
+    AFTER UPDATE ON jobapps.company
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_bump_data_version_after_delete
+    AFTER DELETE ON jobapps.company
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_bump_data_version_after_truncate
+    AFTER TRUNCATE ON jobapps.company
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_tag_bump_data_version_after_insert
+    AFTER INSERT ON jobapps.tag
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_tag_bump_data_version_after_update
+    AFTER UPDATE ON jobapps.tag
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_tag_bump_data_version_after_delete
+    AFTER DELETE ON jobapps.tag
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_tag_bump_data_version_after_truncate
+    AFTER TRUNCATE ON jobapps.tag
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_tag_bump_data_version_after_insert
+    AFTER INSERT ON jobapps.company_tag
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_tag_bump_data_version_after_update
+    AFTER UPDATE ON jobapps.company_tag
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_tag_bump_data_version_after_delete
+    AFTER DELETE ON jobapps.company_tag
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_company_tag_bump_data_version_after_truncate
+    AFTER TRUNCATE ON jobapps.company_tag
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_daily_checklist_bump_data_version_after_insert
+    AFTER INSERT ON jobapps.daily_checklist
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_daily_checklist_bump_data_version_after_update
+    AFTER UPDATE ON jobapps.daily_checklist
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_daily_checklist_bump_data_version_after_delete
+    AFTER DELETE ON jobapps.daily_checklist
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
+
+CREATE TRIGGER trg_daily_checklist_bump_data_version_after_truncate
+    AFTER TRUNCATE ON jobapps.daily_checklist
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.bump_data_version();
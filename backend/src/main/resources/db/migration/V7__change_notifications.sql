@@ -0,0 +1,134 @@
+-- ================================
+-- Cluster-wide change notifications
+-- Every write statement on the cached tables sends NOTIFY jobapps_changes with {"entity", "op"}.
+-- Statement-level: a bulk import sends one message per statement, not per row, and Postgres folds
+-- identical payloads raised inside one transaction into a single delivery at commit.
+-- Statements that changed no rows send nothing, e.g. the tag INSERT ... ON CONFLICT DO NOTHING every
+-- company write runs, or the zero-row link CTEs of an unchanged PATCH; as in bump_data_version(), the
+-- triggers are one per event with transition tables.
+-- Rolled-back transactions deliver nothing.
+-- ================================
+
+-- ================================
+-- Functions
+-- ================================
+
+CREATE OR REPLACE FUNCTION jobapps.notify_change()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  -- Statement-level triggers fire even when nothing matched; the transition tables tell
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    IF NOT EXISTS (SELECT 1 FROM new_rows) THEN
+      RETURN NULL;
+    END IF;
+  ELSIF TG_OP = 'DELETE' THEN
+    IF NOT EXISTS (SELECT 1 FROM old_rows) THEN
+      RETURN NULL;
+    END IF;
+  END IF;
+
+  PERFORM pg_notify(
+      'jobapps_changes',
+      json_build_object('entity', TG_TABLE_NAME, 'op', lower(TG_OP))::text
+  );
+RETURN NULL;
+END;
+$$;
+
+-- ================================
+-- Triggers
+-- ================================
+
+CREATE TRIGGER trg_company_notify_change_after_insert
+    AFTER INSERT ON jobapps.company
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_notify_change_after_update
+    AFTER UPDATE ON jobapps.company
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_notify_change_after_delete
+    AFTER DELETE ON jobapps.company
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_notify_change_after_truncate
+    AFTER TRUNCATE ON jobapps.company
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_tag_notify_change_after_insert
+    AFTER INSERT ON jobapps.tag
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_tag_notify_change_after_update
+    AFTER UPDATE ON jobapps.tag
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_tag_notify_change_after_delete
+    AFTER DELETE ON jobapps.tag
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_tag_notify_change_after_truncate
+    AFTER TRUNCATE ON jobapps.tag
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_tag_notify_change_after_insert
+    AFTER INSERT ON jobapps.company_tag
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_tag_notify_change_after_update
+    AFTER UPDATE ON jobapps.company_tag
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_tag_notify_change_after_delete
+    AFTER DELETE ON jobapps.company_tag
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_company_tag_notify_change_after_truncate
+    AFTER TRUNCATE ON jobapps.company_tag
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_daily_checklist_notify_change_after_insert
+    AFTER INSERT ON jobapps.daily_checklist
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_daily_checklist_notify_change_after_update
+    AFTER UPDATE ON jobapps.daily_checklist
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_daily_checklist_notify_change_after_delete
+    AFTER DELETE ON jobapps.daily_checklist
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
+
+CREATE TRIGGER trg_daily_checklist_notify_change_after_truncate
+    AFTER TRUNCATE ON jobapps.daily_checklist
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.notify_change();
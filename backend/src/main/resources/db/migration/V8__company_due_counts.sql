@@ -0,0 +1,147 @@
+-- ================================
+-- Due-date rollup: number of companies per next_visit_on day
+-- Maintained incrementally by statement-level triggers on company, so the calendar heat map,
+-- overdue totals and the max due date are O(days) reads instead of scans over company.
+-- Rows are only ever incremented/decremented (never deleted), so concurrent writers just queue on
+-- the affected day rows; readers ignore days whose count has dropped to zero.
+-- ================================
+
+CREATE TABLE jobapps.company_due_counts (
+    day DATE NOT NULL,
+    company_count BIGINT NOT NULL,
+    CONSTRAINT pk_company_due_counts PRIMARY KEY (day)
+);
+
+-- ================================
+-- Functions
+-- ================================
+
+-- Days are upserted in order to keep concurrent writers from deadlocking on the rollup rows
+CREATE OR REPLACE FUNCTION jobapps.apply_company_due_deltas(p_days DATE[], p_deltas BIGINT[])
+RETURNS void
+LANGUAGE plpgsql
+AS $$
+BEGIN
+INSERT INTO jobapps.company_due_counts AS counts (day, company_count)
+SELECT delta.day, delta.company_count
+FROM unnest(p_days, p_deltas) AS delta(day, company_count)
+ORDER BY delta.day
+ON CONFLICT (day) DO UPDATE SET company_count = counts.company_count + EXCLUDED.company_count;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobapps.company_due_counts_after_insert()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.apply_company_due_deltas(days, deltas)
+  FROM (
+      SELECT array_agg(next_visit_on ORDER BY next_visit_on) AS days,
+             array_agg(company_count ORDER BY next_visit_on) AS deltas
+      FROM (
+          SELECT next_visit_on, COUNT(*) AS company_count
+          FROM new_rows
+          WHERE next_visit_on IS NOT NULL
+          GROUP BY next_visit_on
+      ) grouped
+  ) agg
+  WHERE days IS NOT NULL;
+RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobapps.company_due_counts_after_delete()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.apply_company_due_deltas(days, deltas)
+  FROM (
+      SELECT array_agg(next_visit_on ORDER BY next_visit_on) AS days,
+             array_agg(-company_count ORDER BY next_visit_on) AS deltas
+      FROM (
+          SELECT next_visit_on, COUNT(*) AS company_count
+          FROM old_rows
+          WHERE next_visit_on IS NOT NULL
+          GROUP BY next_visit_on
+      ) grouped
+  ) agg
+  WHERE days IS NOT NULL;
+RETURN NULL;
+END;
+$$;
+
+-- Rows whose next_visit_on did not change contribute +1 and -1 to the same day and cancel out,
+-- so tag-array refreshes and name edits write nothing
+CREATE OR REPLACE FUNCTION jobapps.company_due_counts_after_update()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM jobapps.apply_company_due_deltas(days, deltas)
+  FROM (
+      SELECT array_agg(day ORDER BY day) AS days,
+             array_agg(company_count ORDER BY day) AS deltas
+      FROM (
+          SELECT changed.day, SUM(changed.delta) AS company_count
+          FROM (
+              SELECT next_visit_on AS day, 1 AS delta FROM new_rows WHERE next_visit_on IS NOT NULL
+              UNION ALL
+              SELECT next_visit_on AS day, -1 AS delta FROM old_rows WHERE next_visit_on IS NOT NULL
+          ) changed
+          GROUP BY changed.day
+          HAVING SUM(changed.delta) <> 0
+      ) grouped
+  ) agg
+  WHERE days IS NOT NULL;
+RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION jobapps.company_due_counts_after_truncate()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+UPDATE jobapps.company_due_counts SET company_count = 0 WHERE company_count <> 0;
+RETURN NULL;
+END;
+$$;
+
+-- ================================
+-- Triggers
+-- ================================
+
+CREATE TRIGGER trg_company_due_counts_after_insert
+    AFTER INSERT ON jobapps.company
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_due_counts_after_insert();
+
+CREATE TRIGGER trg_company_due_counts_after_delete
+    AFTER DELETE ON jobapps.company
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_due_counts_after_delete();
+
+CREATE TRIGGER trg_company_due_counts_after_update
+    AFTER UPDATE ON jobapps.company
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_due_counts_after_update();
+
+CREATE TRIGGER trg_company_due_counts_after_truncate
+    AFTER TRUNCATE ON jobapps.company
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION jobapps.company_due_counts_after_truncate();
+
+-- ================================
+-- Backfill
+-- ================================
+
+INSERT INTO jobapps.company_due_counts (day, company_count)
+SELECT next_visit_on, COUNT(*)
+FROM jobapps.company
+WHERE next_visit_on IS NOT NULL
+GROUP BY next_visit_on;
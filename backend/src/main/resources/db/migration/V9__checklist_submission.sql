@@ -0,0 +1,22 @@
+-- ================================
+-- Checklist submission ledger
+-- One row per submitted day: when it was last applied, by which path and how many companies it moved.
+-- Submitting a day deletes the completed rows it applied, so a past day that still has completed rows
+-- is unapplied work (never submitted, or completed after/while it was submitted). Catch-up replays
+-- exactly those days in date order; replaying an applied day changes nothing.
+-- The ledger is an audit record only: it is written on every submit but never read to decide what is
+-- pending, since the remaining completed rows already say that.
+-- ================================
+
+CREATE TABLE jobapps.checklist_submission (
+    check_date DATE NOT NULL,
+    submitted_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    source TEXT NOT NULL,
+    companies_updated INT NOT NULL,
+    CONSTRAINT pk_checklist_submission PRIMARY KEY (check_date)
+);
+
+-- Pending-day scan only looks at completed rows, which submit deletes, so this stays small
+CREATE INDEX idx_daily_checklist_completed_check_date
+    ON jobapps.daily_checklist (check_date)
+    WHERE completed;
@@ -0,0 +1,165 @@
+package com.jobapptracker.backend.company.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The V3 triggers keep company.tag_keys/tag_names in step with company_tag and tag. Runs the real
+ * migrations against Postgres; skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CompanyTagArrayTriggersTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17");
+
+    // Far enough in the past that any stamp by the updated_at trigger is visible
+    private static final OffsetDateTime PINNED_UPDATED_AT = OffsetDateTime.parse("2000-01-01T00:00:00Z");
+
+    private static final UUID COMPANY_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .schemas("jobapps")
+                .defaultSchema("jobapps")
+                .load()
+                .migrate();
+    }
+
+    @BeforeEach
+    void seedCompany() throws SQLException {
+        try (Connection con = connect(); Statement statement = con.createStatement()) {
+            statement.execute("TRUNCATE jobapps.company, jobapps.tag CASCADE");
+            statement.execute("""
+                    INSERT INTO jobapps.company (company_id, company_name, careers_url, last_visited_on, revisit_after_days)
+                    VALUES ('%s', 'Acme', 'https://acme.example/careers', CURRENT_DATE, 7)
+                    """.formatted(COMPANY_ID));
+            statement.execute("INSERT INTO jobapps.tag (tag_key, tag_name) VALUES ('java', 'Java'), ('remote', 'Remote')");
+            pinUpdatedAt(statement);
+        }
+    }
+
+    @Test
+    void linkInsertFillsArraysWithoutStampingUpdatedAt() throws SQLException {
+        try (Connection con = connect(); Statement statement = con.createStatement()) {
+            statement.execute(linkSql("java", "remote"));
+
+            CompanyTags tags = readCompanyTags(con);
+            assertEquals(List.of("java", "remote"), tags.keys());
+            assertEquals(List.of("Java", "Remote"), tags.names());
+            assertEquals(PINNED_UPDATED_AT.toInstant(), tags.updatedAt().toInstant());
+        }
+    }
+
+    @Test
+    void linkDeleteRemovesTagFromArrays() throws SQLException {
+        try (Connection con = connect(); Statement statement = con.createStatement()) {
+            statement.execute(linkSql("java", "remote"));
+            statement.execute("""
+                    DELETE FROM jobapps.company_tag
+                    WHERE tag_id = (SELECT tag_id FROM jobapps.tag WHERE tag_key = 'remote')
+                    """);
+
+            CompanyTags tags = readCompanyTags(con);
+            assertEquals(List.of("java"), tags.keys());
+            assertEquals(List.of("Java"), tags.names());
+            assertEquals(PINNED_UPDATED_AT.toInstant(), tags.updatedAt().toInstant());
+        }
+    }
+
+    @Test
+    void renameRefreshesNamesAndKeepsOrderByName() throws SQLException {
+        try (Connection con = connect(); Statement statement = con.createStatement()) {
+            statement.execute(linkSql("java", "remote"));
+            statement.execute("UPDATE jobapps.tag SET tag_name = 'Zulu Java' WHERE tag_key = 'java'");
+
+            CompanyTags tags = readCompanyTags(con);
+            assertEquals(List.of("remote", "java"), tags.keys());
+            assertEquals(List.of("Remote", "Zulu Java"), tags.names());
+            assertEquals(PINNED_UPDATED_AT.toInstant(), tags.updatedAt().toInstant());
+        }
+    }
+
+    @Test
+    void tagUpdateWithoutRenameLeavesCompaniesUntouched() throws SQLException {
+        try (Connection con = connect(); Statement statement = con.createStatement()) {
+            statement.execute(linkSql("java"));
+            long versionBefore = readCompanyRowVersion(con);
+
+            statement.execute("UPDATE jobapps.tag SET tag_name = tag_name");
+
+            assertEquals(versionBefore, readCompanyRowVersion(con));
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    // The updated_at trigger would overwrite an explicit value, so it is bypassed for the seed only
+    private static void pinUpdatedAt(Statement statement) throws SQLException {
+        statement.execute("ALTER TABLE jobapps.company DISABLE TRIGGER trg_company_updated_at");
+        statement.execute("UPDATE jobapps.company SET updated_at = '" + PINNED_UPDATED_AT + "'");
+        statement.execute("ALTER TABLE jobapps.company ENABLE TRIGGER trg_company_updated_at");
+    }
+
+    private static String linkSql(String... tagKeys) {
+        return """
+                INSERT INTO jobapps.company_tag (company_id, tag_id)
+                SELECT '%s', tag_id FROM jobapps.tag WHERE tag_key IN ('%s')
+                """.formatted(COMPANY_ID, String.join("', '", tagKeys));
+    }
+
+    private static CompanyTags readCompanyTags(Connection con) throws SQLException {
+        try (PreparedStatement statement = con.prepareStatement(
+                "SELECT tag_keys, tag_names, updated_at FROM jobapps.company WHERE company_id = ?")) {
+            statement.setObject(1, COMPANY_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return new CompanyTags(
+                        toList(resultSet.getArray("tag_keys")),
+                        toList(resultSet.getArray("tag_names")),
+                        resultSet.getObject("updated_at", OffsetDateTime.class)
+                );
+            }
+        }
+    }
+
+    // xmin changes with every new row version, i.e. on any UPDATE that reached the row
+    private static long readCompanyRowVersion(Connection con) throws SQLException {
+        try (PreparedStatement statement = con.prepareStatement(
+                "SELECT xmin::text::bigint FROM jobapps.company WHERE company_id = ?")) {
+            statement.setObject(1, COMPANY_ID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        return List.of((String[]) array.getArray());
+    }
+
+    private record CompanyTags(List<String> keys, List<String> names, OffsetDateTime updatedAt) {}
+}
@@ -0,0 +1,39 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.web.DueFilter;
+import com.jobapptracker.backend.company.web.MatchMode;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A spread of list filters resembling UI traffic: mostly unfiltered and single-filter pages,
+ * with a tail of combinations, so benchmarks cycle through many query shapes.
+ */
+final class CompanyFilterMix {
+
+    // @OperationsPerInvocation needs a constant; benchmarks check it against filters().length
+    static final int SIZE = 12;
+
+    private CompanyFilterMix() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static CompanyFilter[] filters() {
+        LocalDate today = LocalDate.of(2026, 3, 2);
+        return new CompanyFilter[]{
+                new CompanyFilter(null, MatchMode.PREFIX, List.of(), null, null, null),
+                new CompanyFilter(null, MatchMode.PREFIX, List.of(), DueFilter.TODAY, null, null),
+                new CompanyFilter(null, MatchMode.PREFIX, List.of(), DueFilter.OVERDUE, null, null),
+                new CompanyFilter("acme", MatchMode.PREFIX, List.of(), null, null, null),
+                new CompanyFilter("robot", MatchMode.CONTAINS, List.of(), null, null, null),
+                new CompanyFilter("stripe", MatchMode.FUZZY, List.of(), null, null, null),
+                new CompanyFilter(null, MatchMode.PREFIX, List.of("remote"), null, null, null),
+                new CompanyFilter(null, MatchMode.PREFIX, List.of("remote", "backend", "java"), DueFilter.UPCOMING, null, null),
+                new CompanyFilter(null, MatchMode.PREFIX, List.of(), null, today, null),
+                new CompanyFilter(null, MatchMode.PREFIX, List.of(), null, null, today.minusDays(7)),
+                new CompanyFilter("data_eng 100%", MatchMode.CONTAINS, List.of("remote"), DueFilter.TODAY, null, null),
+                new CompanyFilter("lab", MatchMode.PREFIX, List.of("ml"), null, today, today.minusDays(14))
+        };
+    }
+}
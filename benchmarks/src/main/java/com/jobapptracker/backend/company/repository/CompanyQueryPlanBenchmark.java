@@ -0,0 +1,133 @@
+package com.jobapptracker.backend.company.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning + execution time of the company list count and first page against a real database,
+ * cycling through CompanyFilterMix. prepareThreshold=0 makes pgjdbc parse and plan every
+ * execution (what a churned statement cache costs); 1 switches to a server-side prepared
+ * statement from the second execution of each distinct SQL text, which stable shapes allow.
+ *
+ * Needs a database with the schema migrated; the forked JVM inherits the -D flags:
+ *   java -Djobapps.bench.jdbc-url=jdbc:postgresql://localhost:5432/jobapps \
+ *        -Djobapps.bench.username=... -Djobapps.bench.password=... \
+ *        -jar benchmarks/target/benchmarks.jar CompanyQueryPlan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompanyQueryPlanBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "1"})
+    public String prepareThreshold;
+
+    private CompanyFilter[] filters;
+    private CompanyQueryShapes queryShapes;
+    private Connection connection;
+
+    @Setup
+    public void connect() throws SQLException {
+        String jdbcUrl = System.getProperty("jobapps.bench.jdbc-url");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            throw new IllegalStateException("Set -Djobapps.bench.jdbc-url (plus username/password) to run this benchmark");
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getProperty("jobapps.bench.username", ""));
+        properties.setProperty("password", System.getProperty("jobapps.bench.password", ""));
+        properties.setProperty("prepareThreshold", prepareThreshold);
+
+        connection = DriverManager.getConnection(jdbcUrl, properties);
+        queryShapes = new CompanyQueryShapes(trgmSchema());
+        filters = CompanyFilterMix.filters();
+        if (filters.length != CompanyFilterMix.SIZE) {
+            throw new IllegalStateException("CompanyFilterMix.SIZE must be " + filters.length);
+        }
+    }
+
+    private String trgmSchema() throws SQLException {
+        String sql = """
+                SELECT namespace.nspname
+                FROM pg_extension extension
+                JOIN pg_namespace namespace ON namespace.oid = extension.extnamespace
+                WHERE extension.extname = 'pg_trgm'
+                """;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new IllegalStateException("Extension pg_trgm is not installed; migrate the schema first");
+            }
+            return resultSet.getString(1);
+        }
+    }
+
+    @TearDown
+    public void disconnect() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CompanyFilterMix.SIZE)
+    public long count() throws SQLException {
+        long sum = 0;
+        for (CompanyFilter filter : filters) {
+            CompanyQueryShapes.Shape shape = queryShapes.forFilter(filter);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(shape.sql(CompanyQueryShapes.Kind.COUNT))) {
+                shape.bindFilter(connection, preparedStatement, filter);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    resultSet.next();
+                    sum += resultSet.getLong(1);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CompanyFilterMix.SIZE)
+    public long firstPage() throws SQLException {
+        long rows = 0;
+        for (CompanyFilter filter : filters) {
+            CompanyQueryShapes.Shape shape = queryShapes.forFilter(filter);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(shape.sql(CompanyQueryShapes.Kind.PAGE))) {
+                int index = shape.bindFilter(connection, preparedStatement, filter);
+                if (shape.fuzzy()) {
+                    preparedStatement.setString(index++, filter.q().trim());
+                }
+                preparedStatement.setInt(index++, PAGE_SIZE);
+                preparedStatement.setInt(index, 0);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows++;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,207 @@
+package com.jobapptracker.backend.company.repository;
+
+import com.jobapptracker.backend.company.web.DueFilter;
+import com.jobapptracker.backend.config.DatabaseConstants;
+import com.jobapptracker.backend.config.SqlFragments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of turning a CompanyFilter into a bound count statement: the per-call
+ * StringBuilder + instanceof binding CompanyRepository used before query shapes, against a
+ * precomputed shape lookup. Statements are stubs, so only SQL construction and binding are
+ * measured; CompanyQueryPlanBenchmark covers the database side. Lives in the repository package
+ * to reach the package-private CompanyQueryShapes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompanyQueryShapeBenchmark {
+
+    private static final String LEGACY_COUNT_SQL = """
+            SELECT COUNT(*)
+            FROM %s company
+            WHERE 1=1
+            """.formatted(DatabaseConstants.TABLE_COMPANY_TRACKING);
+
+    // SQL text only; no database is involved, so the schema pg_trgm lives in does not matter
+    private static final String TRGM_SCHEMA = DatabaseConstants.SCHEMA;
+
+    private final CompanyQueryShapes queryShapes = new CompanyQueryShapes(TRGM_SCHEMA);
+
+    private CompanyFilter[] filters;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @Setup
+    public void setUp() throws SQLException {
+        filters = CompanyFilterMix.filters();
+        if (filters.length != CompanyFilterMix.SIZE) {
+            throw new IllegalStateException("CompanyFilterMix.SIZE must be " + filters.length);
+        }
+
+        statement = stub(PreparedStatement.class, null);
+        Array array = stub(Array.class, null);
+        connection = stub(Connection.class, array);
+
+        // Both paths must produce the same statement text for every filter in the mix
+        for (CompanyFilter filter : filters) {
+            StringBuilder legacySql = new StringBuilder(LEGACY_COUNT_SQL);
+            legacyApplyFilters(legacySql, new ArrayList<>(), filter);
+            String shapeSql = queryShapes.forFilter(filter).sql(CompanyQueryShapes.Kind.COUNT);
+            if (!legacySql.toString().equals(shapeSql)) {
+                throw new IllegalStateException("SQL mismatch for " + filter + ":\n" + legacySql + "\n---\n" + shapeSql);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CompanyFilterMix.SIZE)
+    public void legacy(Blackhole blackhole) throws SQLException {
+        for (CompanyFilter filter : filters) {
+            StringBuilder sqlQuery = new StringBuilder(LEGACY_COUNT_SQL);
+            List<Object> parameters = new ArrayList<>();
+            legacyApplyFilters(sqlQuery, parameters, filter);
+            String sql = sqlQuery.toString();
+            legacyBind(connection, statement, parameters);
+            blackhole.consume(sql);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CompanyFilterMix.SIZE)
+    public void shapes(Blackhole blackhole) throws SQLException {
+        for (CompanyFilter filter : filters) {
+            CompanyQueryShapes.Shape shape = queryShapes.forFilter(filter);
+            String sql = shape.sql(CompanyQueryShapes.Kind.COUNT);
+            shape.bindFilter(connection, statement, filter);
+            blackhole.consume(sql);
+        }
+    }
+
+    // Every call returns null/0 except createArrayOf, which hands back the given array
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Array array) {
+        return (T) Proxy.newProxyInstance(
+                CompanyQueryShapeBenchmark.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "createArrayOf" -> array;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                }
+        );
+    }
+
+    // CompanyRepository.applyFiltersToQuery before query shapes, kept as the baseline
+    private static void legacyApplyFilters(StringBuilder sqlQuery, List<Object> parameters, CompanyFilter filter) {
+        String q = filter.q();
+        List<String> tagsAny = filter.tagsAny();
+        LocalDate date = filter.date();
+        LocalDate lastVisitedOn = filter.lastVisitedOn();
+
+        boolean hasDateFilter = (date != null);
+        DueFilter effectiveDue = hasDateFilter ? null : filter.due();
+
+        if (q != null && !q.isBlank()) {
+            String trimmedQuery = q.trim();
+            String escapedQuery = trimmedQuery
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+
+            switch (filter.match()) {
+                case PREFIX -> {
+                    sqlQuery.append(" AND company.company_name ILIKE ? ESCAPE '\\' ");
+                    parameters.add(escapedQuery + "%");
+                }
+                case CONTAINS -> {
+                    sqlQuery.append(" AND (company.company_name ILIKE ? ESCAPE '\\' OR company.careers_url ILIKE ? ESCAPE '\\') ");
+                    parameters.add("%" + escapedQuery + "%");
+                    parameters.add("%" + escapedQuery + "%");
+                }
+                case FUZZY -> {
+                    sqlQuery.append(" AND (company.company_name " + SqlFragments.trgmSimilarOperator(TRGM_SCHEMA) + " ? OR company.company_name ILIKE ? ESCAPE '\\') ");
+                    parameters.add(trimmedQuery);
+                    parameters.add("%" + escapedQuery + "%");
+                }
+            }
+        }
+
+        if (tagsAny != null && !tagsAny.isEmpty()) {
+            sqlQuery.append(" AND company.tag_keys && ?::text[] ");
+            parameters.add(tagsAny);
+        }
+
+        if (hasDateFilter) {
+            sqlQuery.append(" AND company.next_visit_on = ? ");
+            parameters.add(date);
+        }
+
+        if (lastVisitedOn != null) {
+            sqlQuery.append(" AND company.last_visited_on = ? ");
+            parameters.add(lastVisitedOn);
+        }
+
+        if (effectiveDue != null) {
+            switch (effectiveDue) {
+                case TODAY -> sqlQuery.append(" AND company.next_visit_on = CURRENT_DATE ");
+                case OVERDUE -> sqlQuery.append(" AND company.next_visit_on < CURRENT_DATE ");
+                case UPCOMING -> sqlQuery.append(" AND company.next_visit_on > CURRENT_DATE ");
+            }
+        }
+    }
+
+    // CompanyRepository.prepareStatement's parameter loop, minus the prepareStatement call itself
+    private static void legacyBind(Connection con, PreparedStatement preparedStatement, List<Object> parameters)
+            throws SQLException {
+
+        int index = 1;
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                preparedStatement.setNull(index, Types.NULL);
+            } else if (parameter instanceof List<?> listVal) {
+                String[] array = listVal.stream().map(String::valueOf).toArray(String[]::new);
+                preparedStatement.setArray(index, con.createArrayOf("text", array));
+            } else if (parameter instanceof LocalDate localDate) {
+                preparedStatement.setDate(index, Date.valueOf(localDate));
+            } else if (parameter instanceof Integer integer) {
+                preparedStatement.setInt(index, integer);
+            } else if (parameter instanceof String string) {
+                preparedStatement.setString(index, string);
+            } else if (parameter instanceof UUID uuid) {
+                preparedStatement.setObject(index, uuid);
+            } else {
+                preparedStatement.setObject(index, parameter);
+            }
+            index++;
+        }
+    }
+}
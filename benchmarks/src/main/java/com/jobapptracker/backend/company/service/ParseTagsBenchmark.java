@@ -0,0 +1,35 @@
+package com.jobapptracker.backend.company.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the service package to reach the package-private CompanyService.parseTags.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseTagsBenchmark {
+
+    @Param({"remote", "remote,backend,java", "Remote, Machine Learning ,New York,Série A,remote,,go"})
+    public String tagsCsv;
+
+    @Benchmark
+    public List<String> parseTags() {
+        return CompanyService.parseTags(tagsCsv);
+    }
+}
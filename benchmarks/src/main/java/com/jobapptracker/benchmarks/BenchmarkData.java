@@ -0,0 +1,67 @@
+package com.jobapptracker.benchmarks;
+
+import com.jobapptracker.backend.company.dto.CompanyDto;
+import com.jobapptracker.backend.company.repository.CompanyTagUtil;
+import com.jobapptracker.backend.tag.dto.TagDto;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures shaped like production rows, shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final String[] TAG_NAMES = {
+            "Backend", "Remote", "Java", "Machine Learning", "New York", "Fintech",
+            "Série A", "Hybrid", "Platform / Infra", "Go", "Data", "Healthcare"
+    };
+
+    private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+    private static final OffsetDateTime BASE_TIME = OffsetDateTime.of(2025, 1, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+    private BenchmarkData() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static List<String> tagNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(TAG_NAMES[i % TAG_NAMES.length]);
+        }
+        return names;
+    }
+
+    public static List<String> tagKeys(List<String> names) {
+        return names.stream().map(CompanyTagUtil::toTagKey).toList();
+    }
+
+    public static List<CompanyDto> companies(int count, int tagsPerCompany) {
+        List<String> names = tagNames(tagsPerCompany);
+        List<TagDto> tags = new ArrayList<>(tagsPerCompany);
+        for (String name : names) {
+            tags.add(new TagDto(CompanyTagUtil.toTagKey(name), name));
+        }
+
+        List<CompanyDto> companies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate lastVisitedOn = BASE_DATE.plusDays(i % 90);
+            companies.add(new CompanyDto(
+                    new UUID(0x5eedL, i),
+                    "Company " + i,
+                    "https://careers.company" + i + ".example.com/jobs?team=engineering",
+                    lastVisitedOn,
+                    7,
+                    List.copyOf(tags),
+                    lastVisitedOn.plusDays(7),
+                    BASE_TIME.plusMinutes(i),
+                    BASE_TIME.plusMinutes(i).plusDays(3)
+            ));
+        }
+        return companies;
+    }
+}
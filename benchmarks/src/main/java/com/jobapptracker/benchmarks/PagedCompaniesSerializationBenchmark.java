@@ -0,0 +1,56 @@
+package com.jobapptracker.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobapptracker.backend.company.dto.PagedCompaniesResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of a GET /api/companies page, using an ObjectMapper built with Spring's defaults
+ * (java.time as ISO strings) like the one MVC uses to write responses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PagedCompaniesSerializationBenchmark {
+
+    @Param({"10", "200", "10000"})
+    public int items;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private PagedCompaniesResponse response;
+
+    @Setup
+    public void setUp() {
+        response = new PagedCompaniesResponse(BenchmarkData.companies(items, 3), 0, items, 12_345L, null);
+    }
+
+    @Benchmark
+    public void writeToStream() throws IOException {
+        objectMapper.writeValue(sink, response);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,83 @@
+package com.jobapptracker.benchmarks;
+
+import com.jobapptracker.backend.checklist.dto.ChecklistCompanyDto;
+import com.jobapptracker.backend.checklist.repository.ChecklistRowMapper;
+import com.jobapptracker.backend.company.dto.CompanyDto;
+import com.jobapptracker.backend.company.repository.CompanyRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the mappers used by every company list and checklist request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMapperBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int tagsPerRow;
+
+    private final CompanyRowMapper companyRowMapper = new CompanyRowMapper();
+    private final ChecklistRowMapper checklistRowMapper = new ChecklistRowMapper();
+
+    private ResultSet companyRow;
+    private ResultSet checklistRow;
+
+    @Setup
+    public void setUp() {
+        List<String> names = BenchmarkData.tagNames(tagsPerRow);
+        List<String> keys = BenchmarkData.tagKeys(names);
+
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("company_id", UUID.fromString("5eed0000-0000-0000-0000-000000000001"));
+        columns.put("company_name", "Example Robotics");
+        columns.put("careers_url", "https://careers.example-robotics.com/jobs?team=engineering");
+        columns.put("last_visited_on", LocalDate.of(2025, 3, 14));
+        columns.put("revisit_after_days", 7);
+        columns.put("next_visit_on", LocalDate.of(2025, 3, 21));
+        columns.put("created_at", OffsetDateTime.of(2025, 1, 2, 8, 0, 0, 0, ZoneOffset.UTC));
+        columns.put("updated_at", OffsetDateTime.of(2025, 3, 14, 17, 45, 0, 0, ZoneOffset.UTC));
+        columns.put("tag_keys", StubResultSets.textArray(keys.toArray(String[]::new)));
+        columns.put("tag_names", StubResultSets.textArray(names.toArray(String[]::new)));
+        companyRow = StubResultSets.row(columns);
+
+        Map<String, Object> checklistColumns = new HashMap<>(columns);
+        checklistColumns.put("completed", true);
+        checklistColumns.put("in_checklist", true);
+        checklistRow = StubResultSets.row(checklistColumns);
+    }
+
+    @Benchmark
+    public CompanyDto companyRowMapper() throws SQLException {
+        return companyRowMapper.mapRow(companyRow, 0);
+    }
+
+    @Benchmark
+    public ChecklistCompanyDto checklistRowMapper() throws SQLException {
+        return checklistRowMapper.mapRow(checklistRow, 0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jobapptracker.benchmarks;
+
+import com.jobapptracker.backend.config.SqlArrayUtils;
+import com.jobapptracker.backend.tag.dto.TagDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlArrayUtilsBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int tags;
+
+    private Array sqlArray;
+    private List<String> keys;
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        names = BenchmarkData.tagNames(tags);
+        keys = BenchmarkData.tagKeys(names);
+        sqlArray = StubResultSets.textArray(names.toArray(String[]::new));
+    }
+
+    @Benchmark
+    public List<String> toStringList() throws SQLException {
+        return SqlArrayUtils.toStringList(sqlArray);
+    }
+
+    @Benchmark
+    public List<TagDto> zipTags() {
+        return SqlArrayUtils.zipTags(keys, names);
+    }
+}
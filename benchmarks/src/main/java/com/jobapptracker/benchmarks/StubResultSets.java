@@ -0,0 +1,46 @@
+package com.jobapptracker.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * In-memory single-row {@link ResultSet} and {@link Array} stand-ins for driving row mappers without a database.
+ * Values are pre-typed, so driver-side decoding (e.g. PgArray text parsing) is deliberately not measured;
+ * getArray() still returns a fresh array per call like the driver does.
+ */
+final class StubResultSets {
+
+    private StubResultSets() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static ResultSet row(Map<String, Object> columns) {
+        return (ResultSet) Proxy.newProxyInstance(
+                StubResultSets.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getObject", "getArray" -> columns.get((String) args[0]);
+                    case "getString" -> (String) columns.get((String) args[0]);
+                    case "getInt" -> ((Number) columns.get((String) args[0])).intValue();
+                    case "getBoolean" -> Boolean.TRUE.equals(columns.get((String) args[0]));
+                    case "wasNull" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    static Array textArray(String[] values) {
+        return (Array) Proxy.newProxyInstance(
+                StubResultSets.class.getClassLoader(),
+                new Class<?>[]{Array.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getArray" -> values.clone();
+                    case "getBaseTypeName" -> "text";
+                    case "free" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
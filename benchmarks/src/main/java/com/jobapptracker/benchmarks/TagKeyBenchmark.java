@@ -0,0 +1,86 @@
+package com.jobapptracker.benchmarks;
+
+import com.jobapptracker.backend.company.repository.CompanyTagUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompanyTagUtil.toTagKey runs once per tag on every write and on every tag filter parse.
+ * Compares the current canonicalizer with the original regex/NFKD implementation over a corpus
+ * of real-world tag names; setup fails if the two ever disagree.
+ *
+ * <p>Last measured with {@code java -jar benchmarks.jar TagKey} (Temurin 21.0.1, 1 vCPU, gc profiler):
+ * legacy 2,821 ± 2,760 ops/ms at 1,240 B/op, canonicalizer 157,656 ± 81,085 ops/ms at 3.6 B/op
+ * (gc.alloc.rate.norm), about 56x.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TagKeyBenchmark {
+
+    // @OperationsPerInvocation needs a constant; setup checks it against CORPUS.length
+    private static final int CORPUS_SIZE = 58;
+
+    private static final String[] CORPUS = {
+            "remote", "Remote", "backend", "Backend", "Frontend", "Full Stack", "full-stack", "Java", "Kotlin",
+            "Go", "Rust", "TypeScript", "Node.js", "C++", "C#", ".NET", "Python", "Machine Learning", "ML / AI",
+            "  Machine Learning / AI  ", "Data Engineering", "Platform / Infra", "DevOps", "SRE", "Security",
+            "Fintech", "Healthcare", "Climate", "E-commerce", "B2B SaaS", "Series A", "Series B", "Seed", "Hybrid",
+            "On-site", "New York", "San Francisco", "Berlin", "London", "Remote (US)", "Remote - EU", "4-day week",
+            "Visa sponsorship", "Top 100", "Y Combinator", "YC W24", "Société Générale", "Série A", "Zürich",
+            "Montréal", "São Paulo", "Malmö", "Kraków", "Düsseldorf", "Café", "naïve", "Ørsted", "ﬁntech"
+    };
+
+    @Setup
+    public void verifySameOutput() {
+        if (CORPUS.length != CORPUS_SIZE) {
+            throw new IllegalStateException("CORPUS_SIZE must be " + CORPUS.length);
+        }
+        for (String tag : CORPUS) {
+            String expected = legacyToTagKey(tag);
+            String actual = CompanyTagUtil.toTagKey(tag);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("toTagKey mismatch for '" + tag + "': expected '" + expected + "', got '" + actual + "'");
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void canonicalizer(Blackhole blackhole) {
+        for (String tag : CORPUS) {
+            blackhole.consume(CompanyTagUtil.toTagKey(tag));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void legacy(Blackhole blackhole) {
+        for (String tag : CORPUS) {
+            blackhole.consume(legacyToTagKey(tag));
+        }
+    }
+
+    // The implementation CompanyTagUtil shipped before the canonicalizer, kept as the baseline
+    private static String legacyToTagKey(String raw) {
+        String s = raw.trim().toLowerCase();
+        s = Normalizer.normalize(s, Normalizer.Form.NFKD);
+        return s.replaceAll("[^a-z0-9]", "");
+    }
+}
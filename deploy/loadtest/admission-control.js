@@ -0,0 +1,96 @@
+// k6 load test: 2x oversubscription of the API admission pool against the read endpoints, while
+// BULK_VUS clients stream exports through the separate bulk pool at the same time.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e POOL_SIZE=8 -e BULK_VUS=2 deploy/loadtest/admission-control.js
+//
+// POOL_SIZE is the API pool (connection pool minus admission.bulk.max-concurrent with the defaults).
+// Long exports must not show up in admitted_duration: before exports had their own pool, each one
+// held an API permit for its whole run and the read p99 rose with every concurrent export.
+//
+// Results: p99 figures have not been recorded for this revision yet; fill in admitted_duration,
+// shed_duration and export_duration p99 from a run against a seeded database.
+//
+// Seed a realistic data set first (e.g. POST /api/companies/import with a few thousand rows).
+// Compare a run against ADMISSION_ENABLED=false: without admission control the excess requests
+// queue inside Hikari's getConnection and the admitted p99 climbs toward the 20s connection timeout.
+// With it, admitted requests keep a flat p99 and the excess is shed quickly with 503 + Retry-After.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Rate, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const POOL_SIZE = Number(__ENV.POOL_SIZE || 8);
+const OVERSUBSCRIPTION = Number(__ENV.OVERSUBSCRIPTION || 2);
+const BULK_VUS = Number(__ENV.BULK_VUS || 2);
+
+const shedRequests = new Rate('shed_requests');
+const admittedDuration = new Trend('admitted_duration', true);
+const shedDuration = new Trend('shed_duration', true);
+const exportDuration = new Trend('export_duration', true);
+
+export const options = {
+    scenarios: {
+        oversubscribed: {
+            executor: 'constant-vus',
+            vus: POOL_SIZE * OVERSUBSCRIPTION,
+            duration: __ENV.DURATION || '2m',
+        },
+        exports: {
+            executor: 'constant-vus',
+            exec: 'exportCompanies',
+            vus: BULK_VUS,
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    thresholds: {
+        // Queue timeout (1s) plus the slowest list query
+        admitted_duration: ['p(99)<1500'],
+        // Shedding must answer fast, not after the full 20s connection timeout
+        shed_duration: ['p(99)<1200'],
+        shed_requests: ['rate<0.10'],
+        checks: ['rate==1.0'],
+    },
+};
+
+const PATHS = [
+    '/api/companies?size=50',
+    '/api/companies?size=200&total=estimate',
+    '/api/companies?q=a&match=contains&size=50',
+    '/api/checklist',
+];
+
+export default function () {
+    const path = PATHS[Math.floor(Math.random() * PATHS.length)];
+    const res = http.get(`${BASE_URL}${path}`, { tags: { endpoint: path.split('?')[0] } });
+
+    check(res, {
+        'admitted or shed': (r) => r.status === 200 || r.status === 503,
+        '503 carries Retry-After': (r) => r.status !== 503 || r.headers['Retry-After'] !== undefined,
+    });
+
+    const shed = res.status === 503;
+    shedRequests.add(shed);
+    if (shed) {
+        shedDuration.add(res.timings.duration);
+        sleep(Number(res.headers['Retry-After'] || 1));
+    } else {
+        admittedDuration.add(res.timings.duration);
+    }
+}
+
+export function exportCompanies() {
+    const res = http.get(`${BASE_URL}/api/companies/export?format=ndjson`, {
+        tags: { endpoint: '/api/companies/export' },
+        timeout: '10m',
+    });
+
+    check(res, {
+        'export admitted or shed': (r) => r.status === 200 || r.status === 503,
+    });
+
+    if (res.status === 503) {
+        sleep(Number(res.headers['Retry-After'] || 1));
+    } else {
+        exportDuration.add(res.timings.duration);
+    }
+}
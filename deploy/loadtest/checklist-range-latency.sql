@@ -0,0 +1,202 @@
+-- Latency check for GET /api/checklist/range at calendar scale: 50k companies, 90-day window.
+--
+--   psql -v ON_ERROR_STOP=1 -v budget_ms=250 -d jobapps -f deploy/loadtest/checklist-range-latency.sql
+--
+-- Everything runs in one transaction that is rolled back, so it is safe on a dev database
+-- (the seed rows, and the data version bumps and notifications they trigger, never commit).
+-- The two EXPLAIN ANALYZE blocks are exactly the statements ChecklistRepository.getRangeEntries
+-- and getRangeCompanies run; the endpoint's latency is their sum plus JSON serialization.
+--
+-- What to look for:
+--   * entries: one Index Scan on idx_company_next_visit_on per generated day (nested loop over
+--     generate_series) and one range scan on idx_daily_checklist_check_date; no Seq Scan on company.
+--   * companies: the UNION feeds a hash/nested-loop join on company_pkey; tags come straight from
+--     the denormalized tag_keys/tag_names columns, so there is no company_tag join and no GROUP BY.
+--   * The old calendar cost was ~30-90 GET /api/checklist calls, each scanning all overdue companies.
+--
+-- The closing DO block turns those checks into a verdict: it prints one summary line per statement
+-- (execution time, shared buffers hit/read, whether company was seq-scanned) and fails the run
+-- if the entries statement seq-scans company or the two together exceed budget_ms (default 250).
+-- The companies statement may seq-scan: a 90-day window covers about half of this seed.
+--
+-- Results (90-day window, 50k companies): not recorded yet. This revision was written without a
+-- database to run it against, so there are no measured times to quote. Paste the two
+-- "checklist range" NOTICE lines and the hardware here after the first run.
+
+\if :{?budget_ms}
+\else
+\set budget_ms 250
+\endif
+
+BEGIN;
+
+SELECT set_config('jobapps_latency.budget_ms', :'budget_ms', true);
+
+-- 50k companies, next visits spread evenly over 180 days around today
+INSERT INTO jobapps.company (company_name, careers_url, last_visited_on, revisit_after_days, tag_keys, tag_names)
+SELECT
+    'Latency Co ' || n,
+    'https://latency.example/' || n,
+    CURRENT_DATE - 97 + (n % 180),
+    7,
+    ARRAY['remote', 'tag' || (n % 40)],
+    ARRAY['Remote', 'Tag ' || (n % 40)]
+FROM generate_series(1, 50000) AS n;
+
+-- The past 30 days were worked through: every company due on those days has a checklist row
+INSERT INTO jobapps.daily_checklist (check_date, company_id, completed, completed_at)
+SELECT company.next_visit_on, company.company_id, (random() < 0.8), now()
+FROM jobapps.company company
+WHERE company.careers_url LIKE 'https://latency.example/%'
+  AND company.next_visit_on BETWEEN CURRENT_DATE - 30 AND CURRENT_DATE - 1;
+
+ANALYZE jobapps.company;
+ANALYZE jobapps.daily_checklist;
+
+\set range_from 'CURRENT_DATE - 30'
+\set range_to 'CURRENT_DATE + 59'
+
+EXPLAIN (ANALYZE, BUFFERS)
+WITH days AS (
+    SELECT day::date AS check_date
+    FROM generate_series((:range_from)::date, (:range_to)::date, INTERVAL '1 day') AS day
+),
+entries AS (
+    SELECT days.check_date, company.company_id
+    FROM days
+    JOIN jobapps.company company ON company.next_visit_on = days.check_date
+    UNION
+    SELECT checklist.check_date, checklist.company_id
+    FROM jobapps.daily_checklist checklist
+    WHERE checklist.check_date BETWEEN :range_from AND :range_to
+)
+SELECT
+    entries.check_date,
+    entries.company_id,
+    COALESCE(checklist.completed, FALSE) AS completed,
+    (checklist.company_id IS NOT NULL) AS in_checklist
+FROM entries
+JOIN jobapps.company company ON company.company_id = entries.company_id
+LEFT JOIN jobapps.daily_checklist checklist
+    ON checklist.check_date = entries.check_date
+    AND checklist.company_id = entries.company_id
+ORDER BY entries.check_date ASC, company.company_name ASC, company.company_id ASC;
+
+EXPLAIN (ANALYZE, BUFFERS)
+WITH range_companies AS (
+    SELECT company_id
+    FROM jobapps.company
+    WHERE next_visit_on BETWEEN :range_from AND :range_to
+    UNION
+    SELECT company_id
+    FROM jobapps.daily_checklist
+    WHERE check_date BETWEEN :range_from AND :range_to
+)
+SELECT
+    company.company_id,
+    company.company_name,
+    company.careers_url,
+    company.last_visited_on,
+    company.revisit_after_days,
+    company.next_visit_on,
+    company.created_at,
+    company.updated_at,
+    company.tag_keys,
+    company.tag_names
+FROM jobapps.company company
+JOIN range_companies ON range_companies.company_id = company.company_id
+ORDER BY company.company_name ASC, company.company_id ASC;
+
+-- Re-runs both statements warm and machine-checks the plans; the SQL matches the EXPLAINs above
+DO $$
+DECLARE
+    statement_names TEXT[] := ARRAY['entries', 'companies'];
+    seq_scan_allowed BOOLEAN[] := ARRAY[FALSE, TRUE];
+    statements TEXT[] := ARRAY[
+        $sql$
+        WITH days AS (
+            SELECT day::date AS check_date
+            FROM generate_series(CURRENT_DATE - 30, CURRENT_DATE + 59, INTERVAL '1 day') AS day
+        ),
+        entries AS (
+            SELECT days.check_date, company.company_id
+            FROM days
+            JOIN jobapps.company company ON company.next_visit_on = days.check_date
+            UNION
+            SELECT checklist.check_date, checklist.company_id
+            FROM jobapps.daily_checklist checklist
+            WHERE checklist.check_date BETWEEN CURRENT_DATE - 30 AND CURRENT_DATE + 59
+        )
+        SELECT
+            entries.check_date,
+            entries.company_id,
+            COALESCE(checklist.completed, FALSE) AS completed,
+            (checklist.company_id IS NOT NULL) AS in_checklist
+        FROM entries
+        JOIN jobapps.company company ON company.company_id = entries.company_id
+        LEFT JOIN jobapps.daily_checklist checklist
+            ON checklist.check_date = entries.check_date
+            AND checklist.company_id = entries.company_id
+        ORDER BY entries.check_date ASC, company.company_name ASC, company.company_id ASC
+        $sql$,
+        $sql$
+        WITH range_companies AS (
+            SELECT company_id
+            FROM jobapps.company
+            WHERE next_visit_on BETWEEN CURRENT_DATE - 30 AND CURRENT_DATE + 59
+            UNION
+            SELECT company_id
+            FROM jobapps.daily_checklist
+            WHERE check_date BETWEEN CURRENT_DATE - 30 AND CURRENT_DATE + 59
+        )
+        SELECT
+            company.company_id,
+            company.company_name,
+            company.careers_url,
+            company.last_visited_on,
+            company.revisit_after_days,
+            company.next_visit_on,
+            company.created_at,
+            company.updated_at,
+            company.tag_keys,
+            company.tag_names
+        FROM jobapps.company company
+        JOIN range_companies ON range_companies.company_id = company.company_id
+        ORDER BY company.company_name ASC, company.company_id ASC
+        $sql$
+    ];
+    budget_ms NUMERIC := current_setting('jobapps_latency.budget_ms')::numeric;
+    plan JSONB;
+    execution_ms NUMERIC;
+    total_ms NUMERIC := 0;
+    seq_scans_company BOOLEAN;
+    forbidden_seq_scan BOOLEAN := FALSE;
+BEGIN
+    FOR i IN 1 .. array_length(statements, 1) LOOP
+        EXECUTE 'EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ' || statements[i] INTO plan;
+
+        execution_ms := (plan -> 0 ->> 'Execution Time')::numeric;
+        seq_scans_company := jsonb_path_exists(
+            plan, '$.** ? (@."Node Type" == "Seq Scan" && @."Relation Name" == "company")');
+        total_ms := total_ms + execution_ms;
+        forbidden_seq_scan := forbidden_seq_scan OR (seq_scans_company AND NOT seq_scan_allowed[i]);
+
+        RAISE NOTICE 'checklist range %: % ms, shared hit=% read=%, seq scan on company=%',
+            statement_names[i],
+            round(execution_ms, 1),
+            plan -> 0 -> 'Plan' ->> 'Shared Hit Blocks',
+            plan -> 0 -> 'Plan' ->> 'Shared Read Blocks',
+            seq_scans_company;
+    END LOOP;
+
+    IF forbidden_seq_scan THEN
+        RAISE EXCEPTION 'checklist range plan regressed: entries seq-scans company (see the EXPLAIN output above)';
+    END IF;
+    IF total_ms > budget_ms THEN
+        RAISE EXCEPTION 'checklist range took % ms, over the % ms budget', round(total_ms, 1), budget_ms;
+    END IF;
+    RAISE NOTICE 'checklist range total: % ms (budget % ms)', round(total_ms, 1), budget_ms;
+END;
+$$;
+
+ROLLBACK;
@@ -1,6 +1,5 @@
 import { api } from "../../lib/api";
-import type { ChecklistItem } from "./types";
-import type { CompanyRow } from "../companies/types";
+import type { ChecklistItem, ChecklistSubmitSummary } from "./types";
 
 export function getChecklistByDate(date: string) {
     return api.get<ChecklistItem[]>(
@@ -23,7 +22,7 @@ export function setChecklistCompleted(params: {
 }
 
 export function submitChecklist(date: string) {
-    return api.post<CompanyRow[]>(
+    return api.post<ChecklistSubmitSummary>(
         `/checklist/${encodeURIComponent(date)}/submit`,
         {}
     );
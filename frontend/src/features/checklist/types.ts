@@ -19,3 +19,10 @@ export type PickerCompany = {
     companyName: string;
     careersUrl: string;
 };
+
+export type ChecklistSubmitSummary = {
+    date: string;
+    completed: number;
+    companiesUpdated: number;
+    chunks: number;
+};
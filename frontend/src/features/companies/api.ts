@@ -7,6 +7,7 @@ export type CompaniesResponse = {
     page: number;
     size: number;
     total: number;
+    nextCursor: string | null;
 };
 
 export type DueFilter = "today" | "overdue" | "upcoming";